@@ -11,11 +11,19 @@ declare namespace API {
     id: number
   }
 
+  type CursorPageResultUserVo = {
+    pageSize?: number
+    nextCursor?: string
+    hasNext?: boolean
+    records?: UserVo[]
+  }
+
   type PageResultUserVo = {
     pageNo?: number
     pageSize?: number
     total?: number
     totalPages?: number
+    totalExact?: boolean
     records?: UserVo[]
   }
 
@@ -31,6 +39,12 @@ declare namespace API {
     message?: string
   }
 
+  type ResultCursorPageResultUserVo = {
+    code?: number
+    data?: CursorPageResultUserVo
+    message?: string
+  }
+
   type ResultPageResultUserVo = {
     code?: number
     data?: PageResultUserVo
@@ -79,6 +93,9 @@ declare namespace API {
   type UserQueryDto = {
     pageNo?: number
     pageSize?: number
+    cursor?: string
+    countMode?: 'EXACT' | 'CACHED' | 'ESTIMATED' | 'HAS_NEXT'
+    keyword?: string
     id?: number
     userName?: string
     userAccount?: string
@@ -64,6 +64,18 @@ export async function getUserVoById(
   })
 }
 
+/** 此处后端没有提供注释 POST /user/list/cursor/vo */
+export async function listUserVoByCursor(body: API.UserQueryDto, options?: { [key: string]: any }) {
+  return request<API.ResultCursorPageResultUserVo>('/user/list/cursor/vo', {
+    method: 'POST',
+    headers: {
+      'Content-Type': 'application/json',
+    },
+    data: body,
+    ...(options || {}),
+  })
+}
+
 /** 此处后端没有提供注释 POST /user/list/page/vo */
 export async function listUserVoByPage(body: API.UserQueryDto, options?: { [key: string]: any }) {
   return request<API.ResultPageResultUserVo>('/user/list/page/vo', {
@@ -120,6 +132,18 @@ export async function save(body: API.User, options?: { [key: string]: any }) {
   })
 }
 
+/** 搜索用户：账号、昵称、简介按子串匹配 POST /user/search/vo */
+export async function searchUserVo(body: API.UserQueryDto, options?: { [key: string]: any }) {
+  return request<API.ResultPageResultUserVo>('/user/search/vo', {
+    method: 'POST',
+    headers: {
+      'Content-Type': 'application/json',
+    },
+    data: body,
+    ...(options || {}),
+  })
+}
+
 /** 此处后端没有提供注释 POST /user/update */
 export async function updateUser(body: API.UserUpdateDto, options?: { [key: string]: any }) {
   return request<API.ResultBoolean>('/user/update', {
@@ -0,0 +1,126 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 无 k6 环境下的等价压测驱动：请求混合与 user-api.js 相同（50% 分页列表、30% 按 id 查询、20% 批量查询），
+ * 以固定并发的闭环客户端运行，输出吞吐、错误数与延迟分位数
+ * <p>
+ * 用法：java loadtest/LoadDriver.java [baseUrl] [account] [password] [vus] [durationSeconds]
+ *
+ * @author wys17
+ */
+public class LoadDriver {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\":(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8000/api";
+        String account = args.length > 1 ? args[1] : "admin";
+        String password = args.length > 2 ? args[2] : "12345678";
+        int vus = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+        int durationSeconds = args.length > 4 ? Integer.parseInt(args[4]) : 60;
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpResponse<String> login = client.send(json(baseUrl + "/user/login",
+                "{\"userAccount\":\"" + account + "\",\"userPassword\":\"" + password + "\"}", null),
+                HttpResponse.BodyHandlers.ofString());
+        String cookie = login.headers().allValues("set-cookie").stream()
+                .map(value -> value.split(";", 2)[0])
+                .reduce((a, b) -> a + "; " + b)
+                .orElseThrow(() -> new IllegalStateException("Login failed: " + login.body()));
+        HttpResponse<String> page = client.send(json(baseUrl + "/user/list/page/vo",
+                "{\"pageNo\":1,\"pageSize\":50}", cookie), HttpResponse.BodyHandlers.ofString());
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = ID_PATTERN.matcher(page.body());
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No users returned: " + page.body());
+        }
+        String batchIds = String.join(",", ids.subList(0, Math.min(20, ids.size())));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+        long[][] latencies = new long[vus][];
+        AtomicInteger errors = new AtomicInteger();
+        Thread[] clients = new Thread[vus];
+        for (int v = 0; v < vus; v++) {
+            int index = v;
+            clients[v] = Thread.ofVirtual().start(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    double roll = random.nextDouble();
+                    HttpRequest request;
+                    if (roll < 0.5) {
+                        request = json(baseUrl + "/user/list/page/vo",
+                                "{\"pageNo\":" + (1 + random.nextInt(20)) + ",\"pageSize\":10}", cookie);
+                    } else if (roll < 0.8) {
+                        request = get(baseUrl + "/user/get/vo?id=" + ids.get(random.nextInt(ids.size())), cookie);
+                    } else {
+                        request = get(baseUrl + "/user/get/vo/batch?ids=" + batchIds, cookie);
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() != 200 || !response.body().startsWith("{\"code\":0")) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - start;
+                }
+                latencies[index] = Arrays.copyOf(samples, count);
+            });
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("vus=%d duration=%ds requests=%d rps=%.0f errors=%d avg=%.1fms p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms%n",
+                vus, durationSeconds, all.length, (double) all.length / durationSeconds, errors.get(),
+                Arrays.stream(all).average().orElse(0) / 1e6, percentile(all, 0.50), percentile(all, 0.95),
+                percentile(all, 0.99), all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    private static HttpRequest json(String url, String body, String cookie) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (cookie != null) {
+            builder.header("Cookie", cookie);
+        }
+        return builder.build();
+    }
+
+    private static HttpRequest get(String url, String cookie) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Cookie", cookie)
+                .GET()
+                .build();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+# 对比平台线程与虚拟线程两种模式：分别启动应用并运行同一个 k6 脚本，汇总结果写入 loadtest/results/
+# 依赖：已执行 mvn package、已安装 k6、数据库可用
+# 未安装 k6 时可用 LoadDriver.java 以相同的请求混合运行，已记录的结果见 loadtest/results/README.md
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$ROOT"/target/*.jar | grep -v original | head -n 1)"
+PORT="${PORT:-8000}"
+RESULTS="$ROOT/loadtest/results"
+mkdir -p "$RESULTS"
+
+for virtual in false true; do
+  echo "==> spring.threads.virtual.enabled=$virtual"
+  java -jar "$JAR" --server.port="$PORT" --spring.threads.virtual.enabled="$virtual" \
+    > "$RESULTS/app-virtual-$virtual.log" 2>&1 &
+  app=$!
+  trap 'kill $app 2>/dev/null || true' EXIT
+  until curl -s -o /dev/null "http://localhost:$PORT/api/user/get/login"; do sleep 1; done
+  k6 run -e BASE_URL="http://localhost:$PORT/api" \
+    --summary-export "$RESULTS/summary-virtual-$virtual.json" \
+    "$ROOT/loadtest/user-api.js" | tee "$RESULTS/k6-virtual-$virtual.txt"
+  kill "$app"
+  wait "$app" 2>/dev/null || true
+done
+
+echo "结果：$RESULTS/summary-virtual-{false,true}.json（比较 http_req_duration 的 p95/p99 与 http_req_failed）"
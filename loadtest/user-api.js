@@ -0,0 +1,59 @@
+// k6 压测脚本：管理员登录后混合请求分页列表、按 id 查询与批量查询
+// 用法：k6 run -e BASE_URL=http://localhost:8000/api -e ACCOUNT=admin -e PASSWORD=12345678 loadtest/user-api.js
+import http from 'k6/http'
+import { check } from 'k6'
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8000/api'
+const JSON_HEADERS = { 'Content-Type': 'application/json' }
+
+export const options = {
+  scenarios: {
+    ramp: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: 200 },
+        { duration: '1m', target: 1000 },
+        { duration: '30s', target: 0 },
+      ],
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+}
+
+export function setup() {
+  const res = http.post(
+    `${BASE_URL}/user/login`,
+    JSON.stringify({ userAccount: __ENV.ACCOUNT || 'admin', userPassword: __ENV.PASSWORD || '12345678' }),
+    { headers: JSON_HEADERS },
+  )
+  check(res, { 'login ok': (r) => r.json('code') === 0 })
+  const cookies = Object.fromEntries(Object.entries(res.cookies).map(([name, values]) => [name, values[0].value]))
+  const ids = http
+    .post(`${BASE_URL}/user/list/page/vo`, JSON.stringify({ pageNo: 1, pageSize: 50 }), {
+      headers: JSON_HEADERS,
+      cookies,
+    })
+    .json('data.records')
+    .map((u) => u.id)
+  return { cookies, ids }
+}
+
+export default function (data) {
+  const params = { headers: JSON_HEADERS, cookies: data.cookies }
+  const id = data.ids[Math.floor(Math.random() * data.ids.length)]
+  const roll = Math.random()
+  let res
+  if (roll < 0.5) {
+    res = http.post(
+      `${BASE_URL}/user/list/page/vo`,
+      JSON.stringify({ pageNo: 1 + Math.floor(Math.random() * 20), pageSize: 10 }),
+      params,
+    )
+  } else if (roll < 0.8) {
+    res = http.get(`${BASE_URL}/user/get/vo?id=${id}`, params)
+  } else {
+    res = http.get(`${BASE_URL}/user/get/vo/batch?ids=${data.ids.slice(0, 20).join(',')}`, params)
+  }
+  check(res, { 'status 200': (r) => r.status === 200, 'code 0': (r) => r.json('code') === 0 })
+}
@@ -19,5 +19,23 @@ CREATE TABLE IF NOT EXISTS user
     update_time   DATETIME     DEFAULT CURRENT_TIMESTAMP NOT NULL ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     is_delete     TINYINT      DEFAULT 0                 NOT NULL COMMENT '是否删除',
     UNIQUE KEY uk_user_account (user_account),
-    INDEX idx_user_name (user_name)
-) COMMENT '用户' COLLATE = utf8mb4_unicode_ci;
\ No newline at end of file
+    INDEX idx_user_name (user_name),
+    -- 游标分页索引：按 (create_time, id) 倒序读取；已有库需手动执行 ALTER TABLE user ADD INDEX idx_create_time_id (create_time, id)
+    INDEX idx_create_time_id (create_time, id)
+) COMMENT '用户' COLLATE = utf8mb4_unicode_ci;
+
+-- 机器ID租约表：多实例部署时各节点通过租约抢占雪花算法的机器ID
+CREATE TABLE IF NOT EXISTS machine_lease
+(
+    machine_id  INT          NOT NULL COMMENT '机器ID' PRIMARY KEY,
+    owner       VARCHAR(128) NOT NULL COMMENT '持有者标识',
+    expire_time DATETIME     NOT NULL COMMENT '租约过期时间'
+) COMMENT '机器ID租约' COLLATE = utf8mb4_unicode_ci;
+
+-- ID计数器号段表：FEISTEL 模式下各机器ID的计数器高水位，节点按号段租用，重启后从高水位继续
+CREATE TABLE IF NOT EXISTS id_block
+(
+    machine_id  INT      NOT NULL COMMENT '机器ID' PRIMARY KEY,
+    next_value  BIGINT   NOT NULL COMMENT '下一个未分配的计数器值',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP NOT NULL ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) COMMENT 'ID计数器号段' COLLATE = utf8mb4_unicode_ci;
@@ -0,0 +1,98 @@
+package com.yt.aicode.benchmark;
+
+import com.yt.aicode.annotation.AuthCheck;
+import com.yt.aicode.basic.common.LoginPrincipal;
+import com.yt.aicode.basic.common.UserConstant;
+import com.yt.aicode.basic.dao.UserDao;
+import com.yt.aicode.basic.entity.User;
+import com.yt.aicode.config.AuthCheckInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 权限拦截器开销：受保护接口与公开接口经 AuthCheckInterceptor 的 preHandle 耗时
+ * <p>
+ * 每次调用使用新的请求对象（会话相同），与真实请求一样不能复用请求内已解析的登录身份。
+ *
+ * @author wys17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthCheckInterceptorBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private AuthCheckInterceptor interceptor;
+
+    private MockHttpSession session;
+
+    private MockHttpServletResponse response;
+
+    private HandlerMethod adminOnly;
+
+    private HandlerMethod open;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        context = BenchmarkApplication.start();
+        interceptor = context.getBean(AuthCheckInterceptor.class);
+        User admin = context.getBean(UserDao.class)
+                .queryLoginByAccount(BenchmarkApplication.LOGIN_ACCOUNT, 1);
+        session = new MockHttpSession();
+        session.setAttribute(UserConstant.USER_LOGIN_STATE, new LoginPrincipal(admin.getId(), admin.getUserRole()));
+        response = new MockHttpServletResponse();
+        Guarded guarded = new Guarded();
+        adminOnly = new HandlerMethod(guarded, "adminOnly");
+        open = new HandlerMethod(guarded, "open");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean protectedHandler() {
+        return interceptor.preHandle(newRequest(), response, adminOnly);
+    }
+
+    @Benchmark
+    public boolean publicHandler() {
+        return interceptor.preHandle(newRequest(), response, open);
+    }
+
+    private MockHttpServletRequest newRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setSession(session);
+        return request;
+    }
+
+    /**
+     * 处理方法
+     */
+    public static class Guarded {
+
+        @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+        public int adminOnly() {
+            return 1;
+        }
+
+        public int open() {
+            return 1;
+        }
+    }
+}
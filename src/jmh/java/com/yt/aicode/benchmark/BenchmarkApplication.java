@@ -0,0 +1,101 @@
+package com.yt.aicode.benchmark;
+
+import com.yt.aicode.AiCodeApplication;
+import com.yt.aicode.basic.common.SnowflakeIdGenerator;
+import com.yt.aicode.basic.dao.UserDao;
+import com.yt.aicode.basic.entity.User;
+import com.yt.aicode.basic.password.PasswordService;
+import com.yt.aicode.enums.UserRoleEnum;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试用的应用上下文：数据源替换为 MySQL 兼容模式的 H2 内存库，并预置用户数据
+ *
+ * @author wys17
+ */
+public final class BenchmarkApplication {
+
+    /**
+     * 预置的普通用户数
+     */
+    public static final int USER_COUNT = 10000;
+
+    /**
+     * 登录基准使用的账号与密码
+     */
+    public static final String LOGIN_ACCOUNT = "bench_admin";
+
+    public static final String LOGIN_PASSWORD = "bench_password";
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * 启动上下文（不启动 Web 容器、不构建搜索索引与账号过滤器）并写入预置数据；
+     * 覆盖项以命令行参数传入，优先级高于 application.yml
+     *
+     * @return 应用上下文
+     */
+    public static ConfigurableApplicationContext start() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AiCodeApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.sql.init.mode=always",
+                        "--spring.sql.init.schema-locations=classpath:benchmark-schema.sql",
+                        "--user-search.enabled=false",
+                        "--account-filter.enabled=false",
+                        "--logging.level.com.yt.aicode=warn",
+                        "--logging.level.com.yt.aicode.basic.dao=warn");
+        seed(context);
+        return context;
+    }
+
+    /**
+     * 写入一个管理员与 USER_COUNT 个普通用户，密码哈希只计算一次
+     */
+    private static void seed(ConfigurableApplicationContext context) {
+        UserDao userDao = context.getBean(UserDao.class);
+        SnowflakeIdGenerator idGenerator = context.getBean(SnowflakeIdGenerator.class);
+        String password = context.getBean(PasswordService.class).hash(LOGIN_PASSWORD);
+        List<User> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+        chunk.add(newUser(idGenerator.generateId(), LOGIN_ACCOUNT, password, UserRoleEnum.ADMIN.getValue()));
+        for (int i = 0; i < USER_COUNT; i++) {
+            chunk.add(newUser(idGenerator.generateId(), "bench_user_" + i, password, UserRoleEnum.USER.getValue()));
+            if (chunk.size() == SEED_CHUNK_SIZE) {
+                userDao.insertBatch(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            userDao.insertBatch(chunk);
+        }
+    }
+
+    private static User newUser(long id, String account, String password, String role) {
+        User user = new User();
+        user.setId(id);
+        user.setUserAccount(account);
+        user.setUserPassword(password);
+        user.setUserName("用户" + account);
+        user.setUserProfile("基准测试用户");
+        user.setUserRole(role);
+        LocalDateTime now = LocalDateTime.now();
+        user.setEditTime(now);
+        user.setCreateTime(now);
+        user.setUpdateTime(now);
+        user.setIsDelete(1);
+        return user;
+    }
+}
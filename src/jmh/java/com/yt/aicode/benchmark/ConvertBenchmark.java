@@ -0,0 +1,79 @@
+package com.yt.aicode.benchmark;
+
+import com.yt.aicode.basic.entity.User;
+import com.yt.aicode.convert.UserConvert;
+import com.yt.aicode.dto.UserLoginDto;
+import com.yt.aicode.dto.UserQueryDto;
+import com.yt.aicode.vo.UserVo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserConvert 各映射方法的开销
+ *
+ * @author wys17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConvertBenchmark {
+
+    private User user;
+
+    private UserLoginDto loginDto;
+
+    private UserQueryDto queryDto;
+
+    @Setup
+    public void setUp() {
+        user = sampleUser();
+        loginDto = new UserLoginDto();
+        loginDto.setUserAccount("bench_user");
+        loginDto.setUserPassword("bench_password");
+        queryDto = new UserQueryDto();
+        queryDto.setUserName("用户");
+        queryDto.setUserRole("user");
+        queryDto.setPageNo(3);
+        queryDto.setPageSize(20);
+    }
+
+    @Benchmark
+    public UserVo entityToVo() {
+        return UserConvert.INSTANCE.yToVo(user);
+    }
+
+    @Benchmark
+    public User loginDtoToEntity() {
+        return UserConvert.INSTANCE.loginToY(loginDto);
+    }
+
+    @Benchmark
+    public User queryDtoToEntity() {
+        return UserConvert.INSTANCE.queryDtoToY(queryDto);
+    }
+
+    static User sampleUser() {
+        User user = new User();
+        user.setId(1234567890L);
+        user.setUserAccount("bench_user");
+        user.setUserPassword("$2a$10$0123456789012345678901uBenchmarkPasswordHashValue012");
+        user.setUserName("基准测试用户");
+        user.setUserAvatar("https://example.com/avatar/1234567890.png");
+        user.setUserProfile("这是一段用于基准测试的用户简介");
+        user.setUserRole("user");
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        user.setEditTime(now);
+        user.setCreateTime(now);
+        user.setUpdateTime(now);
+        user.setIsDelete(1);
+        return user;
+    }
+}
@@ -0,0 +1,72 @@
+package com.yt.aicode.benchmark;
+
+import com.yt.aicode.basic.common.SnowflakeIdGenerator;
+import com.yt.aicode.config.IdGeneratorProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ID生成器吞吐：单线程与 8 线程争用下的 generateId，以及批量发号
+ *
+ * @author wys17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IdGeneratorBenchmark {
+
+    @Param({"HASH", "FEISTEL"})
+    private IdGeneratorProperties.IdMode mode;
+
+    private SnowflakeIdGenerator generator;
+
+    /**
+     * 每轮迭代重建生成器，避免长时间压测耗尽 FEISTEL 计数器区间
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        generator = newGenerator(mode);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long generateId() {
+        return generator.generateId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long generateIdContended() {
+        return generator.generateId();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long[] generateIds100() {
+        return generator.generateIds(100);
+    }
+
+    /**
+     * 单节点生成器：机器ID位数为 0，FEISTEL 模式独占整个10位数空间，号段存储在内存中
+     */
+    static SnowflakeIdGenerator newGenerator(IdGeneratorProperties.IdMode mode) {
+        IdGeneratorProperties properties = new IdGeneratorProperties();
+        properties.setMode(mode);
+        properties.setMachineIdBits(0);
+        properties.setFeistelKey(20240101L);
+        AtomicLong highWater = new AtomicLong();
+        return new SnowflakeIdGenerator(properties, maxMachineId -> 0L,
+                (machineId, size) -> highWater.getAndAdd(size));
+    }
+}
@@ -0,0 +1,70 @@
+package com.yt.aicode.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yt.aicode.basic.common.PageResult;
+import com.yt.aicode.basic.common.Result;
+import com.yt.aicode.convert.UserConvert;
+import com.yt.aicode.vo.UserVo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result / PageResult 的 JSON 序列化开销（与 Spring MVC 默认的 ObjectMapper 配置一致）
+ *
+ * @author wys17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private Result<UserVo> single;
+
+    private Result<PageResult<UserVo>> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        UserVo userVo = UserConvert.INSTANCE.yToVo(ConvertBenchmark.sampleUser());
+        single = Result.success(userVo);
+        List<UserVo> records = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            UserVo record = UserConvert.INSTANCE.yToVo(ConvertBenchmark.sampleUser());
+            record.setId(1234567890L + i);
+            records.add(record);
+        }
+        PageResult<UserVo> pageResult = new PageResult<>();
+        pageResult.setPageNo(1);
+        pageResult.setPageSize(pageSize);
+        pageResult.setTotal(10000L);
+        pageResult.setRecords(records);
+        page = Result.success(pageResult);
+    }
+
+    @Benchmark
+    public byte[] serializeUserVo() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,104 @@
+package com.yt.aicode.benchmark;
+
+import com.yt.aicode.basic.dao.UserDao;
+import com.yt.aicode.basic.entity.User;
+import com.yt.aicode.basic.query.UserQueryRegistry;
+import com.yt.aicode.vo.UserVo;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 动态语句（OGNL 求值 where/if）与查询形状注册表静态语句的对比
+ * <p>
+ * buildSql 只生成 SQL，不访问数据库，衡量 OGNL 求值本身；count / page 为包含 H2 执行的完整调用。
+ *
+ * @author wys17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryShapeBenchmark {
+
+    private static final String DAO = UserDao.class.getName() + ".";
+
+    private ConfigurableApplicationContext context;
+
+    private UserDao userDao;
+
+    private UserQueryRegistry registry;
+
+    private Configuration configuration;
+
+    private User byAccount;
+
+    private Map<String, Object> dynamicParams;
+
+    private Map<String, Object> staticParams;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        userDao = context.getBean(UserDao.class);
+        registry = context.getBean(UserQueryRegistry.class);
+        configuration = context.getBean(SqlSessionFactory.class).getConfiguration();
+        byAccount = new User();
+        byAccount.setUserAccount("bench_user_42");
+        dynamicParams = new HashMap<>();
+        dynamicParams.put("user", byAccount);
+        staticParams = new HashMap<>();
+        staticParams.put("userAccount", byAccount.getUserAccount());
+        staticParams.put("isDelete", byAccount.getIsDelete());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public BoundSql buildSqlDynamic() {
+        return configuration.getMappedStatement(DAO + "count").getBoundSql(dynamicParams);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public BoundSql buildSqlStatic() {
+        return configuration.getMappedStatement(DAO + "countByAccount").getBoundSql(staticParams);
+    }
+
+    @Benchmark
+    public long countDynamic() {
+        return userDao.count(byAccount);
+    }
+
+    @Benchmark
+    public long countStatic() {
+        return registry.count(byAccount);
+    }
+
+    @Benchmark
+    public List<UserVo> pageDynamic() {
+        return userDao.queryVoByLimit(byAccount, 0, 20);
+    }
+
+    @Benchmark
+    public List<UserVo> pageStatic() {
+        return registry.page(byAccount, 0, 20);
+    }
+}
@@ -0,0 +1,98 @@
+package com.yt.aicode.benchmark;
+
+import com.yt.aicode.basic.common.PageResult;
+import com.yt.aicode.basic.service.UserService;
+import com.yt.aicode.config.PageProperties;
+import com.yt.aicode.dto.UserLoginDto;
+import com.yt.aicode.dto.UserQueryDto;
+import com.yt.aicode.enums.CountModeEnum;
+import com.yt.aicode.vo.UserVo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 服务层热点：登录（含密码校验）与分页查询，数据库为 H2 内存库
+ *
+ * @author wys17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private UserService userService;
+
+    private UserLoginDto loginDto;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        userService = context.getBean(UserService.class);
+        loginDto = new UserLoginDto();
+        loginDto.setUserAccount(BenchmarkApplication.LOGIN_ACCOUNT);
+        loginDto.setUserPassword(BenchmarkApplication.LOGIN_PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public UserVo userLogin() {
+        return userService.userLogin(loginDto, new MockHttpServletRequest(), new MockHttpServletResponse());
+    }
+
+    @Benchmark
+    public PageResult<UserVo> queryFirstPage(Queries queries) {
+        return userService.queryByPage(queries.firstPage);
+    }
+
+    @Benchmark
+    public PageResult<UserVo> queryByNamePrefix(Queries queries) {
+        return userService.queryByPage(queries.namePrefixPage);
+    }
+
+    /**
+     * 分页查询条件，按总数统计方式与是否并发统计分别测量（登录基准不受这些参数影响）
+     */
+    @State(Scope.Benchmark)
+    public static class Queries {
+
+        @Param({"EXACT", "CACHED", "HAS_NEXT"})
+        private CountModeEnum countMode;
+
+        @Param({"true", "false"})
+        private boolean parallelFetch;
+
+        private UserQueryDto firstPage;
+
+        private UserQueryDto namePrefixPage;
+
+        @Setup
+        public void setUp(UserServiceBenchmark benchmark) {
+            benchmark.context.getBean(PageProperties.class).setParallelFetch(parallelFetch);
+            firstPage = new UserQueryDto();
+            firstPage.setCountMode(countMode);
+            namePrefixPage = new UserQueryDto();
+            namePrefixPage.setUserName("用户bench_user_1");
+            namePrefixPage.setPageNo(2);
+            namePrefixPage.setCountMode(countMode);
+        }
+    }
+}
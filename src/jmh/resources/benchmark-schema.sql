@@ -0,0 +1,18 @@
+-- 基准测试用的 H2 建表语句（MySQL 兼容模式），与 sql/code.sql 中的 user 表保持一致
+CREATE TABLE IF NOT EXISTS user
+(
+    id            BIGINT PRIMARY KEY,
+    user_account  VARCHAR(256)                           NOT NULL,
+    user_password VARCHAR(512)                           NOT NULL,
+    user_name     VARCHAR(256)                           NULL,
+    user_avatar   VARCHAR(1024)                          NULL,
+    user_profile  VARCHAR(512)                           NULL,
+    user_role     VARCHAR(256) DEFAULT 'user'            NOT NULL,
+    edit_time     DATETIME     DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    create_time   DATETIME     DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    update_time   DATETIME     DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    is_delete     TINYINT      DEFAULT 0                 NOT NULL,
+    CONSTRAINT uk_user_account UNIQUE (user_account)
+);
+CREATE INDEX IF NOT EXISTS idx_user_name ON user (user_name);
+CREATE INDEX IF NOT EXISTS idx_create_time_id ON user (create_time, id);
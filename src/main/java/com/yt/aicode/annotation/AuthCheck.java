@@ -16,4 +16,9 @@ public @interface AuthCheck {
      * 必须有某个角色
      */
     String mustRole() default "";
+
+    /**
+     * 具备其中任一角色即可，与 mustRole 合并；都为空时只要求登录
+     */
+    String[] anyRole() default {};
 }
\ No newline at end of file
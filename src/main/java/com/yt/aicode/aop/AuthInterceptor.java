@@ -1,59 +0,0 @@
-package com.yt.aicode.aop;
-
-import com.yt.aicode.annotation.AuthCheck;
-import com.yt.aicode.basic.entity.User;
-import com.yt.aicode.basic.service.UserService;
-import com.yt.aicode.enums.UserRoleEnum;
-import com.yt.aicode.exception.BusinessException;
-import com.yt.aicode.exception.ErrorCode;
-import jakarta.annotation.Resource;
-import jakarta.servlet.http.HttpServletRequest;
-import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.Around;
-import org.aspectj.lang.annotation.Aspect;
-import org.springframework.stereotype.Component;
-import org.springframework.web.context.request.RequestAttributes;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
-
-/**
- * @author wys17
- */
-@Aspect
-@Component
-public class AuthInterceptor {
-
-    @Resource
-    private UserService userService;
-
-    /**
-     * 执行拦截
-     *
-     * @param joinPoint 切入点
-     * @param authCheck 权限校验注解
-     */
-    @Around("@annotation(authCheck)")
-    public Object doInterceptor(ProceedingJoinPoint joinPoint, AuthCheck authCheck) throws Throwable {
-        String mustRole = authCheck.mustRole();
-        RequestAttributes requestAttributes = RequestContextHolder.currentRequestAttributes();
-        HttpServletRequest request = ((ServletRequestAttributes) requestAttributes).getRequest();
-        // 当前登录用户
-        User loginUser = userService.getLoginUser(request);
-        UserRoleEnum mustRoleEnum = UserRoleEnum.getEnumByValue(mustRole);
-        // 不需要权限，放行
-        if (mustRoleEnum == null) {
-            return joinPoint.proceed();
-        }
-        // 以下为：必须有该权限才通过
-        // 获取当前用户具有的权限
-        UserRoleEnum userRoleEnum = UserRoleEnum.getEnumByValue(loginUser.getUserRole());
-        // 没有权限，拒绝
-        if (userRoleEnum == null)
-            throw new BusinessException(ErrorCode.NO_AUTH_ERROR);
-        // 要求必须有管理员权限，但用户没有管理员权限，拒绝
-        if (UserRoleEnum.ADMIN.equals(mustRoleEnum) && !UserRoleEnum.ADMIN.equals(userRoleEnum))
-            throw new BusinessException(ErrorCode.NO_AUTH_ERROR);
-        // 通过权限校验，放行
-        return joinPoint.proceed();
-    }
-}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.yt.aicode.basic.cache;
+
+import com.yt.aicode.basic.dao.UserDao;
+import com.yt.aicode.basic.entity.User;
+import com.yt.aicode.config.UserCacheProperties;
+import com.yt.aicode.exception.BusinessException;
+import com.yt.aicode.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 合并加载器（DataLoader 风格）
+ * <p>
+ * 批次的第一个请求成为发起者，在自己的线程上执行查询：有空闲的查询并发许可时立即查询，单个请求不等待；
+ * 许可用完（数据库繁忙）时发起者等待许可，期间到达的其他id并入同一批次，最终合并为一次 queryByIds，
+ * 再按id分发结果；同一批内重复的id只查询一次。负载越高合并越多，空闲时没有额外延迟。
+ *
+ * @author wys17
+ */
+@Slf4j
+@Component
+public class UserBatchLoader {
+
+    private final UserDao userDao;
+
+    private final int maxBatchSize;
+
+    /**
+     * 同时进行的合并查询数上限
+     */
+    private final Semaphore inFlight;
+
+    /**
+     * 批次切换锁；ReentrantLock 上等待的虚拟线程可以让出载体线程
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 正在收集中的批次
+     */
+    private Batch current = new Batch();
+
+    public UserBatchLoader(UserDao userDao, UserCacheProperties properties) {
+        if (properties.getBatchMaxSize() < 1 || properties.getBatchMaxConcurrency() < 1) {
+            throw new IllegalArgumentException("Batch max size and max concurrency can't be less than 1");
+        }
+        this.userDao = userDao;
+        this.maxBatchSize = properties.getBatchMaxSize();
+        this.inFlight = new Semaphore(properties.getBatchMaxConcurrency());
+    }
+
+    /**
+     * 加载单个用户，阻塞到所在批次查询完成
+     *
+     * @param id 主键
+     * @return 用户，不存在时为 null
+     */
+    public User load(Long id) {
+        Batch owned = null;
+        CompletableFuture<User> future;
+        lock.lock();
+        try {
+            Batch batch = current;
+            future = batch.waiters.get(id);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                batch.waiters.put(id, future);
+                if (batch.waiters.size() == 1) {
+                    owned = batch;
+                }
+                if (batch.waiters.size() >= maxBatchSize) {
+                    // 攒满后不再接收新id，后续请求开启新批次
+                    current = new Batch();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (owned != null) {
+            dispatch(owned);
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 发起者获取查询许可后关闭批次并查询
+     */
+    private void dispatch(Batch batch) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeBatch(batch);
+            batch.waiters.values().forEach(future -> future.completeExceptionally(
+                    BusinessException.of(ErrorCode.SYSTEM_BUSY_ERROR)));
+            return;
+        }
+        try {
+            closeBatch(batch);
+            Map<Long, CompletableFuture<User>> waiters = batch.waiters;
+            try {
+                List<User> users = userDao.queryByIds(waiters.keySet());
+                for (User user : users) {
+                    CompletableFuture<User> future = waiters.get(user.getId());
+                    if (future != null) {
+                        future.complete(user);
+                    }
+                }
+                // 未查到的id以 null 完成
+                waiters.values().forEach(future -> future.complete(null));
+            } catch (Throwable e) {
+                log.warn("User batch load of {} ids failed: {}", waiters.size(), e.getMessage());
+                waiters.values().forEach(future -> future.completeExceptionally(e));
+            }
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    /**
+     * 关闭批次：之后到达的id进入新批次，批次内的 waiters 不再被修改
+     */
+    private void closeBatch(Batch batch) {
+        lock.lock();
+        try {
+            if (current == batch) {
+                current = new Batch();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 一个收集中的批次，waiters 在关闭前只在持有 lock 时修改
+     */
+    private static final class Batch {
+
+        private final Map<Long, CompletableFuture<User>> waiters = new HashMap<>();
+    }
+}
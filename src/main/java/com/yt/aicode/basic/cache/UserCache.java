@@ -0,0 +1,102 @@
+package com.yt.aicode.basic.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.yt.aicode.basic.dao.UserDao;
+import com.yt.aicode.basic.entity.User;
+import com.yt.aicode.config.UserCacheProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 用户读穿透缓存，位于资料视图查询（UserDao.queryByIds）之前
+ * <p>
+ * 基于 Caffeine（W-TinyLFU 淘汰）：容量与写入后过期时间可配；
+ * 同一 id 的并发未命中只会触发一次数据库查询，不同 id 的并发未命中经 {@link UserBatchLoader} 合并为一次 IN 查询；
+ * 写操作后由调用方失效对应条目。
+ * 只缓存资料视图（不含密码与审计列）；返回的实体为缓存共享对象，调用方不要修改。
+ *
+ * @author wys17
+ */
+@Component
+public class UserCache {
+
+    private final UserDao userDao;
+
+    private final UserBatchLoader userBatchLoader;
+
+    private final Cache<Long, User> cache;
+
+    public UserCache(UserDao userDao, UserBatchLoader userBatchLoader, UserCacheProperties properties) {
+        this.userDao = userDao;
+        this.userBatchLoader = userBatchLoader;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getExpireAfterWriteSeconds()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 通过ID获取用户，未命中时加载并缓存；不存在的用户不缓存
+     *
+     * @param id 主键
+     * @return 用户，不存在时为 null
+     */
+    public User getById(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return cache.get(id, userBatchLoader::load);
+    }
+
+    /**
+     * 批量获取用户，未命中的id一次查询加载；不存在的用户不在结果中
+     *
+     * @param ids 主键集合
+     * @return 主键 -> 用户
+     */
+    public Map<Long, User> getByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return cache.getAll(ids, missing -> {
+            Map<Long, User> loaded = new HashMap<>();
+            for (User user : userDao.queryByIds(new ArrayList<>(missing))) {
+                loaded.put(user.getId(), user);
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * 失效单个用户
+     *
+     * @param id 主键
+     */
+    public void invalidate(Long id) {
+        if (id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * 命中/未命中/淘汰等统计
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * 当前缓存条数（近似值）
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
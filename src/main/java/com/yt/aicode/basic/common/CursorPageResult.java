@@ -0,0 +1,29 @@
+package com.yt.aicode.basic.common;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 游标分页返回对象：不统计总数，每页成本与页深无关
+ * @author wys17
+ * @param <T> 列表数据的类型
+ */
+@Getter
+@Setter
+public class CursorPageResult<T> implements Serializable {
+
+    private Integer pageSize;
+
+    /**
+     * 下一页游标，没有下一页时为 null
+     */
+    private String nextCursor;
+
+    private Boolean hasNext = false;
+
+    private List<T> records = Collections.emptyList();
+}
@@ -0,0 +1,123 @@
+package com.yt.aicode.basic.common;
+
+/**
+ * 10位数ID空间上的带密钥置换（格式保留加密）
+ * <p>
+ * 在 [0, 9000000000) 上做一一映射：以边长 94869 的方形域做平衡 Feistel 网络，
+ * 结果落在域外时继续迭代（cycle walking），因此不同输入必然得到不同输出。
+ *
+ * @author wys17
+ */
+public class FeistelPermutation {
+
+    /**
+     * 10位数ID的最小值
+     */
+    public static final long MIN_ID = 1000000000L;
+
+    /**
+     * 置换域大小：1000000000 ~ 9999999999 共 9000000000 个
+     */
+    public static final long DOMAIN_SIZE = 9000000000L;
+
+    /**
+     * 方形域边长，HALF * HALF >= DOMAIN_SIZE
+     */
+    private static final long HALF = 94869L;
+
+    /**
+     * Feistel 轮数
+     */
+    private static final int ROUNDS = 6;
+
+    /**
+     * 各轮子密钥
+     */
+    private final long[] roundKeys = new long[ROUNDS];
+
+    public FeistelPermutation(long key) {
+        long seed = key;
+        for (int i = 0; i < ROUNDS; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            roundKeys[i] = seed;
+        }
+    }
+
+    /**
+     * 将计数器值映射为10位数ID
+     *
+     * @param counter 范围 [0, DOMAIN_SIZE)
+     * @return 10位数ID
+     */
+    public long encode(long counter) {
+        if (counter < 0 || counter >= DOMAIN_SIZE) {
+            throw new IllegalArgumentException(String.format("Counter must be between 0 and %d", DOMAIN_SIZE - 1));
+        }
+        long value = counter;
+        do {
+            value = permute(value);
+        } while (value >= DOMAIN_SIZE);
+        return MIN_ID + value;
+    }
+
+    /**
+     * 将10位数ID还原为计数器值
+     *
+     * @param id 10位数ID
+     * @return 计数器值
+     */
+    public long decode(long id) {
+        if (id < MIN_ID || id >= MIN_ID + DOMAIN_SIZE) {
+            throw new IllegalArgumentException("Id is not a 10-digit id");
+        }
+        long value = id - MIN_ID;
+        do {
+            value = unpermute(value);
+        } while (value >= DOMAIN_SIZE);
+        return value;
+    }
+
+    /**
+     * 方形域 [0, HALF*HALF) 上的一次 Feistel 置换
+     */
+    private long permute(long value) {
+        long left = value / HALF;
+        long right = value % HALF;
+        for (int i = 0; i < ROUNDS; i++) {
+            long next = (left + round(right, i)) % HALF;
+            left = right;
+            right = next;
+        }
+        return left * HALF + right;
+    }
+
+    /**
+     * permute 的逆运算
+     */
+    private long unpermute(long value) {
+        long left = value / HALF;
+        long right = value % HALF;
+        for (int i = ROUNDS - 1; i >= 0; i--) {
+            long previous = Math.floorMod(right - round(left, i), HALF);
+            right = left;
+            left = previous;
+        }
+        return left * HALF + right;
+    }
+
+    /**
+     * 轮函数
+     */
+    private long round(long half, int i) {
+        return Math.floorMod(mix(half ^ roundKeys[i]), HALF);
+    }
+
+    /**
+     * SplitMix64 混淆
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,31 @@
+package com.yt.aicode.basic.common;
+
+import com.yt.aicode.enums.UserRoleEnum;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 登录身份：鉴权只需要的最小信息
+ *
+ * @param id       用户id
+ * @param userRole 用户角色
+ * @param roleMask 角色位（{@link UserRoleEnum#getGrantedMask()}），创建时由角色计算
+ * @author wys17
+ */
+public record LoginPrincipal(Long id, String userRole, int roleMask) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public LoginPrincipal {
+        // 升级前会话中反序列化的身份没有角色位，按角色补算
+        if (roleMask == 0) {
+            roleMask = UserRoleEnum.grantedMaskOf(userRole);
+        }
+    }
+
+    public LoginPrincipal(Long id, String userRole) {
+        this(id, userRole, 0);
+    }
+}
@@ -0,0 +1,118 @@
+package com.yt.aicode.basic.common;
+
+import cn.hutool.core.util.StrUtil;
+import com.yt.aicode.config.AuthProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 无状态登录令牌编解码
+ * <p>
+ * 格式：base64url(id:role:过期秒) + "." + base64url(HMAC-SHA256)，校验只需一次 HMAC 计算，无需查询会话或数据库。
+ *
+ * @author wys17
+ */
+@Component
+public class LoginTokenCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * 已初始化密钥的 Mac 原型，每次使用 clone，避免重复初始化且线程安全
+     */
+    private final Mac prototype;
+
+    private final long ttlSeconds;
+
+    public LoginTokenCodec(AuthProperties properties) {
+        byte[] secret;
+        if (StrUtil.isBlank(properties.getTokenSecret())) {
+            // 随机密钥签发的令牌在重启后和其他节点上都无法校验，TOKEN 模式必须显式配置
+            if (properties.getMode() == AuthProperties.AuthMode.TOKEN) {
+                throw new IllegalArgumentException("auth.token-secret must be configured explicitly in TOKEN mode");
+            }
+            // 其他模式不签发令牌，随机密钥只用于让解析必然失败
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        } else {
+            secret = properties.getTokenSecret().getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            this.prototype = Mac.getInstance(ALGORITHM);
+            this.prototype.init(new SecretKeySpec(secret, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+        this.ttlSeconds = properties.getTokenTtlSeconds();
+    }
+
+    /**
+     * 签发令牌
+     *
+     * @param principal 登录身份
+     * @return 令牌
+     */
+    public String encode(LoginPrincipal principal) {
+        long expireAt = System.currentTimeMillis() / 1000 + ttlSeconds;
+        String payload = ENCODER.encodeToString(
+                (principal.id() + ":" + principal.userRole() + ":" + expireAt).getBytes(StandardCharsets.UTF_8));
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * 校验并解析令牌
+     *
+     * @param token 令牌
+     * @return 登录身份，签名错误、格式错误或已过期时为 null
+     */
+    public LoginPrincipal decode(String token) {
+        if (StrUtil.isBlank(token)) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        String payload = token.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return null;
+            }
+            String[] parts = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3 || Long.parseLong(parts[2]) < System.currentTimeMillis() / 1000) {
+                return null;
+            }
+            return new LoginPrincipal(Long.parseLong(parts[0]), parts[1]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 令牌有效期（秒）
+     */
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HmacSHA256 is not cloneable", e);
+        }
+    }
+}
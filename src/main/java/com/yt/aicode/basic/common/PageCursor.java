@@ -0,0 +1,45 @@
+package com.yt.aicode.basic.common;
+
+import com.yt.aicode.exception.BusinessException;
+import com.yt.aicode.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 游标分页位置：(create_time, id)，对外编码为不透明字符串
+ *
+ * @param createTime 创建时间
+ * @param id         id
+ * @author wys17
+ */
+public record PageCursor(LocalDateTime createTime, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 编码为不透明游标
+     */
+    public String encode() {
+        String raw = createTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param cursor 不透明游标
+     * @return 游标位置
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.indexOf(SEPARATOR);
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, index)), Long.parseLong(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标无效");
+        }
+    }
+}
@@ -14,6 +14,11 @@ public class PageInfo implements Serializable {
 
     private Integer pageSize = 20;
 
+    /**
+     * 游标分页的游标，取上一页返回的 nextCursor，首页为空
+     */
+    private String cursor;
+
     public Integer getPageNo() {
         if (pageNo == null || pageNo < 1) {
             return 1;
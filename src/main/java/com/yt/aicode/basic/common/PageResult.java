@@ -26,6 +26,11 @@ public class PageResult<T> implements Serializable {
 
     private Integer totalPages = 0;
 
+    /**
+     * 总数是否为精确值（缓存、估算或只判断下一页时为 false）
+     */
+    private Boolean totalExact = true;
+
     private List<T> records = Collections.emptyList();
 
     /**
@@ -1,15 +1,31 @@
 package com.yt.aicode.basic.common;
 
+import com.yt.aicode.basic.common.machine.IdBlockStore;
+import com.yt.aicode.basic.common.machine.MachineIdProvider;
+import com.yt.aicode.config.IdGeneratorProperties;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongUnaryOperator;
 
 /**
  * 雪花算法ID生成器 - 生成10位数唯一ID
  * 防止黑客连环爬取数据
- * 
+ * <p>
+ * 时间戳与序列号打包在同一个原子状态字中，通过 CAS 推进，无锁发号；
+ * 支持一次预留一段连续序列号用于批量插入。
+ * <p>
+ * FEISTEL 模式下改用节点内单调计数器，经 {@link FeistelPermutation} 置换为10位数，保证无碰撞。
+ * 计数器按号段从 {@link IdBlockStore} 租用，高水位持久化，重启或其他节点接管同一机器ID后不会复用已发出的值。
+ *
  * @author ai-code
  */
+@Slf4j
 @Component
 public class SnowflakeIdGenerator {
     
@@ -19,111 +35,317 @@ public class SnowflakeIdGenerator {
     private static final long START_TIMESTAMP = 1704067200000L;
     
     /**
-     * 机器ID位数
+     * 机器ID位数与序列号位数之和的上限，保留至少 41 位时间戳
      */
-    private static final long MACHINE_ID_BITS = 5L;
+    private static final int MAX_LAYOUT_BITS = 22;
+    
+    /**
+     * 机器ID区间剩余比例低于该值时启动告警
+     */
+    private static final double LOW_SPACE_RATIO = 0.1D;
     
     /**
      * 序列号位数
      */
-    private static final long SEQUENCE_BITS = 12L;
+    private final int sequenceBits;
     
     /**
      * 机器ID最大值
      */
-    private static final long MAX_MACHINE_ID = ~(-1L << MACHINE_ID_BITS);
+    private final long maxMachineId;
     
     /**
      * 序列号最大值
      */
-    private static final long MAX_SEQUENCE = ~(-1L << SEQUENCE_BITS);
+    private final long maxSequence;
     
     /**
      * 机器ID左移位数
      */
-    private static final long MACHINE_ID_SHIFT = SEQUENCE_BITS;
+    private final int machineIdShift;
     
     /**
      * 时间戳左移位数
      */
-    private static final long TIMESTAMP_SHIFT = SEQUENCE_BITS + MACHINE_ID_BITS;
+    private final int timestampShift;
     
     /**
-     * 机器ID (0-31)
+     * FEISTEL 模式下每个机器ID独占的计数器区间大小
+     */
+    private final long counterPerMachine;
+    
+    /**
+     * 机器ID
      */
     private final long machineId;
     
     /**
-     * 序列号
+     * 机器ID提供者，发号前确认仍持有机器ID
+     */
+    private final MachineIdProvider machineIdProvider;
+    
+    /**
+     * 允许容忍的时钟回拨窗口（毫秒）
+     */
+    private final long maxBackwardMs;
+    
+    /**
+     * 状态字：高位为上一次发号的相对时间戳，低 sequenceBits 位为该毫秒内最后发出的序列号
+     */
+    private final AtomicLong state = new AtomicLong(0L);
+    
+    /**
+     * ID模式
+     */
+    private final IdGeneratorProperties.IdMode mode;
+    
+    /**
+     * FEISTEL 模式：10位数空间上的置换
+     */
+    private final FeistelPermutation permutation;
+    
+    /**
+     * FEISTEL 模式：计数器号段存储
+     */
+    private final IdBlockStore idBlockStore;
+    
+    /**
+     * FEISTEL 模式：每次租用的号段大小
+     */
+    private final long blockSize;
+    
+    /**
+     * FEISTEL 模式：当前号段，首次发号前为 null
+     */
+    private volatile CounterBlock block;
+    
+    /**
+     * FEISTEL 模式：租用号段时访问数据库，使用显式锁避免虚拟线程固定在载体线程上
+     */
+    private final ReentrantLock blockLock = new ReentrantLock();
+    
+    /**
+     * 已发出的ID总数
      */
-    private final AtomicLong sequence = new AtomicLong(0L);
+    private final LongAdder generatedCount = new LongAdder();
     
     /**
-     * 上一次生成ID的时间戳
+     * 因单毫秒序列号耗尽而等待下一毫秒的次数
      */
-    private volatile long lastTimestamp = -1L;
+    private final LongAdder sequenceWaitCount = new LongAdder();
+    
+    /**
+     * 窗口内容忍的时钟回拨次数
+     */
+    private final LongAdder clockBackwardCount = new LongAdder();
     
     /**
      * 构造函数
      */
-    public SnowflakeIdGenerator() {
-        // 使用本地IP的hash值作为机器ID
-        this.machineId = generateMachineId();
-        if (machineId > MAX_MACHINE_ID || machineId < 0) {
-            throw new IllegalArgumentException(String.format("Machine ID can't be greater than %d or less than 0", MAX_MACHINE_ID));
+    public SnowflakeIdGenerator(IdGeneratorProperties properties, MachineIdProvider machineIdProvider,
+                                IdBlockStore idBlockStore) {
+        int machineIdBits = properties.getMachineIdBits();
+        this.sequenceBits = properties.getSequenceBits();
+        if (machineIdBits < 0 || sequenceBits < 1 || machineIdBits + sequenceBits > MAX_LAYOUT_BITS) {
+            throw new IllegalArgumentException(String.format("Machine ID bits plus sequence bits can't be greater than %d", MAX_LAYOUT_BITS));
+        }
+        this.maxMachineId = ~(-1L << machineIdBits);
+        this.maxSequence = ~(-1L << sequenceBits);
+        this.machineIdShift = sequenceBits;
+        this.timestampShift = sequenceBits + machineIdBits;
+        this.counterPerMachine = FeistelPermutation.DOMAIN_SIZE / (maxMachineId + 1);
+        this.machineIdProvider = machineIdProvider;
+        this.machineId = machineIdProvider.getMachineId(maxMachineId);
+        if (machineId > maxMachineId || machineId < 0) {
+            throw new IllegalArgumentException(String.format("Machine ID can't be greater than %d or less than 0", maxMachineId));
+        }
+        if (properties.getMaxBackwardMs() < 0) {
+            throw new IllegalArgumentException("Max backward window can't be less than 0");
+        }
+        this.maxBackwardMs = properties.getMaxBackwardMs();
+        this.mode = properties.getMode();
+        this.idBlockStore = idBlockStore;
+        this.blockSize = properties.getFeistelBlockSize();
+        if (mode == IdGeneratorProperties.IdMode.FEISTEL) {
+            // 默认密钥或空密钥等于公开置换，ID可被还原为计数器，失去不可预测性
+            if (properties.getFeistelKey() == null || properties.getFeistelKey() == 0L) {
+                throw new IllegalArgumentException("Feistel key must be configured explicitly and can't be 0 in FEISTEL mode");
+            }
+            if (blockSize < 1 || blockSize > counterPerMachine) {
+                throw new IllegalArgumentException(String.format("Feistel block size must be between 1 and %d", counterPerMachine));
+            }
+            this.permutation = new FeistelPermutation(properties.getFeistelKey());
+            // 启动即租用首个号段：校验号段存储可用，并检查本机器ID区间的剩余容量
+            nextBlock(1);
+        } else {
+            this.permutation = null;
         }
     }
     
     /**
-     * 生成机器ID
+     * 生成10位数唯一ID
      */
-    private long generateMachineId() {
-        try {
-            java.net.InetAddress addr = java.net.InetAddress.getLocalHost();
-            String hostAddress = addr.getHostAddress();
-            return Math.abs(hostAddress.hashCode()) % (MAX_MACHINE_ID + 1);
-        } catch (Exception e) {
-            // 如果获取失败，使用随机数
-            return (long) (Math.random() * MAX_MACHINE_ID);
+    public long generateId() {
+        return reserveRange(1).get(0);
+    }
+    
+    /**
+     * 批量生成10位数唯一ID，超过单毫秒容量时自动跨毫秒分段预留
+     *
+     * @param n 数量
+     * @return ID数组
+     */
+    public long[] generateIds(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Count can't be less than 0");
+        }
+        long[] ids = new long[n];
+        int filled = 0;
+        while (filled < n) {
+            IdRange range = reserveRange((int) Math.min(n - filled, maxSequence + 1));
+            for (int i = 0; i < range.size(); i++) {
+                ids[filled++] = range.get(i);
+            }
         }
+        return ids;
     }
     
     /**
-     * 生成10位数唯一ID
+     * 一次 CAS 预留一段连续号段
+     *
+     * @param n 数量，范围 1 ~ 2^sequenceBits
+     * @return 预留的号段
      */
-    public synchronized long generateId() {
-        long currentTimestamp = getCurrentTimestamp();
-        
-        if (currentTimestamp < lastTimestamp) {
-            throw new RuntimeException(String.format("Clock moved backwards. Refusing to generate id for %d milliseconds", 
-                lastTimestamp - currentTimestamp));
+    public IdRange reserveRange(int n) {
+        if (n < 1 || n > maxSequence + 1) {
+            throw new IllegalArgumentException(String.format("Range size must be between 1 and %d", maxSequence + 1));
         }
-        
-        if (currentTimestamp == lastTimestamp) {
-            long seq = sequence.incrementAndGet() & MAX_SEQUENCE;
-            if (seq == 0) {
-                currentTimestamp = waitForNextMillis(lastTimestamp);
+        if (!machineIdProvider.isHeld()) {
+            throw new IllegalStateException(String.format("Machine ID %d is no longer held by this node, refusing to generate id", machineId));
+        }
+        IdRange range = mode == IdGeneratorProperties.IdMode.FEISTEL
+                ? reserveCounterRange(n) : reserveSnowflakeRange(n);
+        generatedCount.add(n);
+        return range;
+    }
+    
+    /**
+     * 已发出的ID总数
+     */
+    public long getGeneratedCount() {
+        return generatedCount.sum();
+    }
+    
+    /**
+     * 等待下一毫秒的次数
+     */
+    public long getSequenceWaitCount() {
+        return sequenceWaitCount.sum();
+    }
+    
+    /**
+     * 窗口内容忍的时钟回拨次数
+     */
+    public long getClockBackwardCount() {
+        return clockBackwardCount.sum();
+    }
+    
+    /**
+     * HASH 模式：预留同一毫秒内的一段连续序列号
+     */
+    private IdRange reserveSnowflakeRange(int n) {
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current >>> sequenceBits;
+            long lastSequence = current & maxSequence;
+            long timestamp = getCurrentTimestamp() - START_TIMESTAMP;
+            
+            if (timestamp < lastTimestamp) {
+                long backward = lastTimestamp - timestamp;
+                if (backward > maxBackwardMs) {
+                    throw new RuntimeException(String.format("Clock moved backwards. Refusing to generate id for %d milliseconds",
+                            backward));
+                }
+                // 窗口内的小幅回拨：沿用上一次的时间戳继续发号
+                clockBackwardCount.increment();
+                timestamp = lastTimestamp;
+            }
+            
+            long firstSequence;
+            if (timestamp == lastTimestamp && current != 0L) {
+                firstSequence = lastSequence + 1;
+                if (firstSequence + n - 1 > maxSequence) {
+                    // 本毫秒序列号耗尽，挂起到下一毫秒
+                    sequenceWaitCount.increment();
+                    parkUntil(lastTimestamp + 1);
+                    continue;
+                }
+            } else {
+                firstSequence = 0L;
+            }
+            
+            long next = (timestamp << sequenceBits) | (firstSequence + n - 1);
+            if (state.compareAndSet(current, next)) {
+                long firstRawId = (timestamp << timestampShift)
+                        | (machineId << machineIdShift)
+                        | firstSequence;
+                return new IdRange(firstRawId, n, SnowflakeIdGenerator::convertToTenDigits);
+            }
+        }
+    }
+    
+    /**
+     * FEISTEL 模式：在当前号段内 CAS 预留一段连续计数器值，号段不足时租用新号段
+     * <p>
+     * 旧号段剩余不足 n 的尾部直接丢弃，不与新号段拼接，保证一次预留的值连续。
+     */
+    private IdRange reserveCounterRange(int n) {
+        while (true) {
+            CounterBlock current = block;
+            long first = current.next.get();
+            if (first + n <= current.limit) {
+                if (current.next.compareAndSet(first, first + n)) {
+                    return new IdRange(machineId * counterPerMachine + first, n, permutation::encode);
+                }
+                continue;
+            }
+            blockLock.lock();
+            try {
+                // 其他线程可能已完成替换
+                if (block == current) {
+                    nextBlock(n);
+                }
+            } finally {
+                blockLock.unlock();
             }
-            sequence.set(seq);
-        } else {
-            sequence.set(0L);
         }
-        
-        lastTimestamp = currentTimestamp;
-        
-        // 生成原始ID
-        long rawId = ((currentTimestamp - START_TIMESTAMP) << TIMESTAMP_SHIFT) 
-                   | (machineId << MACHINE_ID_SHIFT) 
-                   | sequence.get();
-        
-        // 转换为10位数ID (1000000000 - 9999999999)
-        return convertToTenDigits(rawId);
+    }
+    
+    /**
+     * FEISTEL 模式：从号段存储租用新号段并替换当前号段
+     */
+    private void nextBlock(int n) {
+        long size = Math.max(blockSize, n);
+        long first = idBlockStore.allocate(machineId, size);
+        if (first < 0 || first + size > counterPerMachine) {
+            throw new IllegalStateException(String.format("Id space exhausted for machine %d: %d of %d counter values used",
+                    machineId, first, counterPerMachine));
+        }
+        if (block == null) {
+            double remaining = 1D - (double) first / counterPerMachine;
+            log.info("Feistel counter for machine {} resumes at {} of {}", machineId, first, counterPerMachine);
+            if (remaining < LOW_SPACE_RATIO) {
+                log.warn("Feistel counter space for machine {} is {}% left, widen the layout or move to a fresh machine ID",
+                        machineId, String.format("%.1f", remaining * 100));
+            }
+        }
+        block = new CounterBlock(first, first + size);
     }
     
     /**
      * 将原始ID转换为10位数
      */
-    private long convertToTenDigits(long rawId) {
+    private static long convertToTenDigits(long rawId) {
         // 使用hash和模运算确保ID在10位数范围内
         long hash = Math.abs(rawId);
         
@@ -140,14 +362,14 @@ public class SnowflakeIdGenerator {
     }
     
     /**
-     * 等待下一毫秒
+     * 挂起当前线程直到相对时间戳到达 target，避免忙等占满 CPU
      */
-    private long waitForNextMillis(long lastTimestamp) {
-        long timestamp = getCurrentTimestamp();
-        while (timestamp <= lastTimestamp) {
-            timestamp = getCurrentTimestamp();
+    private void parkUntil(long target) {
+        long remaining = target - (getCurrentTimestamp() - START_TIMESTAMP);
+        while (remaining > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(remaining));
+            remaining = target - (getCurrentTimestamp() - START_TIMESTAMP);
         }
-        return timestamp;
     }
     
     /**
@@ -156,4 +378,39 @@ public class SnowflakeIdGenerator {
     public String generateStringId() {
         return String.valueOf(generateId());
     }
-}
\ No newline at end of file
+    
+    /**
+     * FEISTEL 模式租用的计数器号段 [next, limit)
+     */
+    private static final class CounterBlock {
+        
+        private final AtomicLong next;
+        
+        private final long limit;
+        
+        CounterBlock(long first, long limit) {
+            this.next = new AtomicLong(first);
+            this.limit = limit;
+        }
+    }
+    
+    /**
+     * 预留的号段：连续的原始值（HASH 模式为原始雪花ID，FEISTEL 模式为计数器值）
+     *
+     * @param firstRawId 号段内第一个原始值
+     * @param size       号段大小
+     * @param encoder    原始值到10位数ID的映射
+     */
+    public record IdRange(long firstRawId, int size, LongUnaryOperator encoder) {
+        
+        /**
+         * 获取号段内第 index 个10位数ID
+         */
+        public long get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return encoder.applyAsLong(firstRawId + index);
+        }
+    }
+}
@@ -10,6 +10,21 @@ public interface UserConstant {
      */
     String USER_LOGIN_STATE = "user_login";
 
+    /**
+     * 请求内已解析的登录用户属性键，保证同一请求最多查询一次
+     */
+    String LOGIN_USER_ATTRIBUTE = "user_login_resolved";
+
+    /**
+     * 请求内已解析的登录身份属性键
+     */
+    String LOGIN_PRINCIPAL_ATTRIBUTE = "user_login_principal";
+
+    /**
+     * 管理员创建或批量导入用户时的默认密码
+     */
+    String DEFAULT_PASSWORD = "12345678";
+
     //  region 权限
 
     /**
@@ -0,0 +1,39 @@
+package com.yt.aicode.basic.common.machine;
+
+import com.yt.aicode.basic.dao.IdBlockDao;
+
+/**
+ * 基于 id_block 表的号段存储：读取高水位后以条件更新推进，更新失败时重读重试
+ *
+ * @author wys17
+ */
+public class DbIdBlockStore implements IdBlockStore {
+
+    /**
+     * 并发推进冲突时的最大重试次数
+     */
+    private static final int MAX_ATTEMPTS = 16;
+
+    private final IdBlockDao idBlockDao;
+
+    public DbIdBlockStore(IdBlockDao idBlockDao) {
+        this.idBlockDao = idBlockDao;
+    }
+
+    @Override
+    public long allocate(long machineId, long size) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Long current = idBlockDao.queryNextValue(machineId);
+            if (current == null) {
+                // 机器ID首次使用
+                idBlockDao.insertIgnore(machineId);
+                continue;
+            }
+            if (idBlockDao.compareAndSet(machineId, current, current + size) > 0) {
+                return current;
+            }
+        }
+        throw new IllegalStateException(String.format("Id block for machine %d is contended, giving up after %d attempts",
+                machineId, MAX_ATTEMPTS));
+    }
+}
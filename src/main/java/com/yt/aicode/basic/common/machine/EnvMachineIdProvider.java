@@ -0,0 +1,41 @@
+package com.yt.aicode.basic.common.machine;
+
+import cn.hutool.core.util.StrUtil;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 从环境变量读取机器ID；未配置时取主机名末尾的序号（如 StatefulSet 的 ai-code-3）
+ *
+ * @author wys17
+ */
+public class EnvMachineIdProvider implements MachineIdProvider {
+
+    private static final Pattern ORDINAL_PATTERN = Pattern.compile("(\\d+)$");
+
+    /**
+     * 存放机器ID的环境变量名
+     */
+    private final String envName;
+
+    public EnvMachineIdProvider(String envName) {
+        this.envName = envName;
+    }
+
+    @Override
+    public long getMachineId(long maxMachineId) {
+        String value = System.getenv(envName);
+        if (StrUtil.isNotBlank(value)) {
+            return Long.parseLong(value.trim());
+        }
+        String hostname = System.getenv("HOSTNAME");
+        if (StrUtil.isNotBlank(hostname)) {
+            Matcher matcher = ORDINAL_PATTERN.matcher(hostname.trim());
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1));
+            }
+        }
+        throw new IllegalStateException(String.format("Machine ID not found in env %s or HOSTNAME ordinal", envName));
+    }
+}
@@ -0,0 +1,19 @@
+package com.yt.aicode.basic.common.machine;
+
+/**
+ * ID计数器号段存储：按机器ID持久化计数器高水位，FEISTEL 模式下节点每次租用一段连续计数器值
+ *
+ * @author wys17
+ */
+@FunctionalInterface
+public interface IdBlockStore {
+
+    /**
+     * 租用一段计数器值，返回后高水位已持久化推进，重启或其他节点接管同一机器ID时不会再次分配
+     *
+     * @param machineId 机器ID
+     * @param size      号段大小
+     * @return 号段内第一个计数器值（机器ID区间内的相对值）
+     */
+    long allocate(long machineId, long size);
+}
@@ -0,0 +1,22 @@
+package com.yt.aicode.basic.common.machine;
+
+import java.net.InetAddress;
+
+/**
+ * 使用本地IP的hash值作为机器ID，多实例部署时可能冲突，仅适合单机
+ *
+ * @author wys17
+ */
+public class IpHashMachineIdProvider implements MachineIdProvider {
+
+    @Override
+    public long getMachineId(long maxMachineId) {
+        try {
+            String hostAddress = InetAddress.getLocalHost().getHostAddress();
+            return Math.abs(hostAddress.hashCode()) % (maxMachineId + 1);
+        } catch (Exception e) {
+            // 如果获取失败，使用随机数
+            return (long) (Math.random() * maxMachineId);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.yt.aicode.basic.common.machine;
+
+import com.yt.aicode.basic.dao.MachineLeaseDao;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetAddress;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于数据库租约的机器ID分配：启动时在 machine_lease 表中抢占一个空闲或过期的槽位，
+ * 之后定时心跳续约，停机时释放
+ * <p>
+ * 租约只在最近一次成功续约起的 ttl 内有效（按发起续约前的本地时间计算，早于数据库中的过期时间）；
+ * 续约失败或租约被接管后 {@link #isHeld()} 返回 false，生成器停止发号，心跳继续尝试重新抢占同一槽位。
+ *
+ * @author wys17
+ */
+@Slf4j
+public class LeaseMachineIdProvider implements MachineIdProvider, AutoCloseable {
+
+    private final MachineLeaseDao machineLeaseDao;
+
+    /**
+     * 租约时长（秒）
+     */
+    private final long ttlSeconds;
+
+    /**
+     * 持有者标识：主机名 + 随机后缀，同一主机上的多个进程互不冲突
+     */
+    private final String owner;
+
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "machine-lease-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 已抢占的机器ID，未抢占时为 -1
+     */
+    private volatile long machineId = -1L;
+
+    /**
+     * 本地判定的租约有效期截止时间（System.nanoTime）
+     */
+    private volatile long validUntilNanos;
+
+    /**
+     * 抢占过程中会访问数据库，使用显式锁而非 synchronized，避免虚拟线程固定在载体线程上
+     */
+    private final ReentrantLock leaseLock = new ReentrantLock();
+
+    public LeaseMachineIdProvider(MachineLeaseDao machineLeaseDao, long ttlSeconds) {
+        if (ttlSeconds < 3) {
+            throw new IllegalArgumentException("Lease ttl can't be less than 3 seconds");
+        }
+        this.machineLeaseDao = machineLeaseDao;
+        this.ttlSeconds = ttlSeconds;
+        this.owner = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Override
+    public long getMachineId(long maxMachineId) {
+        leaseLock.lock();
+        try {
+            if (machineId >= 0) {
+                return machineId;
+            }
+            for (long id = 0; id <= maxMachineId; id++) {
+                long start = System.nanoTime();
+                if (tryAcquire(id)) {
+                    validUntilNanos = start + leaseNanos();
+                    machineId = id;
+                    long period = ttlSeconds / 3;
+                    heartbeat.scheduleAtFixedRate(this::renew, period, period, TimeUnit.SECONDS);
+                    log.info("Machine ID {} leased by {}", id, owner);
+                    return id;
+                }
+            }
+            throw new IllegalStateException(String.format("No free machine ID in 0 ~ %d", maxMachineId));
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isHeld() {
+        return machineId >= 0 && System.nanoTime() - validUntilNanos < 0;
+    }
+
+    /**
+     * 心跳续约；租约已被接管时尝试重新抢占同一槽位（对方释放或过期后才能成功）
+     */
+    private void renew() {
+        long start = System.nanoTime();
+        try {
+            if (machineLeaseDao.renew(machineId, owner, ttlSeconds) > 0 || tryAcquire(machineId)) {
+                boolean recovered = !isHeld();
+                validUntilNanos = start + leaseNanos();
+                if (recovered) {
+                    log.warn("Machine ID {} lease re-acquired by {}, id generation resumed", machineId, owner);
+                }
+            } else {
+                validUntilNanos = start;
+                log.error("Machine ID {} lease lost by {}, id generation stopped until it is re-acquired", machineId, owner);
+            }
+        } catch (Exception e) {
+            log.error("Machine ID {} lease renew failed, id generation stops when the lease expires", machineId, e);
+        }
+    }
+
+    private boolean tryAcquire(long id) {
+        return machineLeaseDao.insertIgnore(id, owner, ttlSeconds) > 0
+                || machineLeaseDao.takeOverExpired(id, owner, ttlSeconds) > 0;
+    }
+
+    /**
+     * 本地有效期：租约时长减去 1 秒余量，抵消两端时钟速率差异
+     */
+    private long leaseNanos() {
+        return TimeUnit.SECONDS.toNanos(ttlSeconds - 1);
+    }
+
+    /**
+     * 停机时释放租约，使槽位可立即被其他节点复用
+     */
+    @Override
+    public void close() {
+        heartbeat.shutdownNow();
+        // 释放后槽位可被立即接管，先停止发号
+        validUntilNanos = System.nanoTime();
+        if (machineId >= 0) {
+            try {
+                machineLeaseDao.release(machineId, owner);
+            } catch (Exception e) {
+                log.warn("Machine ID {} lease release failed", machineId, e);
+            }
+        }
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.yt.aicode.basic.common.machine;
+
+/**
+ * 机器ID提供者，决定雪花算法中本节点的机器ID
+ *
+ * @author wys17
+ */
+public interface MachineIdProvider {
+
+    /**
+     * 获取本节点机器ID
+     *
+     * @param maxMachineId 机器ID最大值（由位布局决定）
+     * @return 机器ID，范围 0 ~ maxMachineId
+     */
+    long getMachineId(long maxMachineId);
+
+    /**
+     * 本节点当前是否仍独占该机器ID；返回 false 时ID生成器停止发号，避免与接管该机器ID的节点重复
+     *
+     * @return 是否仍持有
+     */
+    default boolean isHeld() {
+        return true;
+    }
+}
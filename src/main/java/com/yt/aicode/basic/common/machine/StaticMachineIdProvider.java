@@ -0,0 +1,20 @@
+package com.yt.aicode.basic.common.machine;
+
+/**
+ * 使用配置中写死的机器ID
+ *
+ * @author wys17
+ */
+public class StaticMachineIdProvider implements MachineIdProvider {
+
+    private final long machineId;
+
+    public StaticMachineIdProvider(long machineId) {
+        this.machineId = machineId;
+    }
+
+    @Override
+    public long getMachineId(long maxMachineId) {
+        return machineId;
+    }
+}
@@ -1,21 +1,35 @@
 package com.yt.aicode.basic.controller;
 
 import com.yt.aicode.annotation.AuthCheck;
+import com.yt.aicode.annotation.CurrentUser;
 import com.yt.aicode.basic.common.*;
 import com.yt.aicode.basic.entity.User;
+import com.yt.aicode.basic.password.PasswordService;
+import com.yt.aicode.basic.service.UserExportService;
+import com.yt.aicode.basic.service.UserImportService;
 import com.yt.aicode.basic.service.UserService;
 import com.yt.aicode.convert.UserConvert;
 import com.yt.aicode.dto.*;
+import com.yt.aicode.enums.DataFormatEnum;
 import com.yt.aicode.exception.BusinessException;
 import com.yt.aicode.exception.ErrorCode;
 import com.yt.aicode.exception.ThrowUtils;
 import com.yt.aicode.basic.common.SnowflakeIdGenerator;
+import com.yt.aicode.vo.CacheStatsVo;
+import com.yt.aicode.vo.PasswordHasherStatsVo;
+import com.yt.aicode.vo.UserImportResultVo;
 import com.yt.aicode.vo.UserVo;
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.util.DigestUtils;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.annotation.Resource;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,7 +43,11 @@ import java.util.stream.Collectors;
 @RequestMapping("/user")
 public class UserController {
 
-    final String DEFAULT_PASSWORD = "ai-code"+"12345678";
+    /**
+     * 批量查询单次最多的 id 数
+     */
+    private static final int BATCH_MAX_IDS = 100;
+
     /**
      * 服务对象
      */
@@ -42,6 +60,24 @@ public class UserController {
     @Resource
     private SnowflakeIdGenerator snowflakeIdGenerator;
 
+    /**
+     * 密码哈希服务
+     */
+    @Resource
+    private PasswordService passwordService;
+
+    /**
+     * 批量导入服务
+     */
+    @Resource
+    private UserImportService userImportService;
+
+    /**
+     * 导出服务
+     */
+    @Resource
+    private UserExportService userExportService;
+
     /**
      * 用户注册
      *
@@ -51,7 +87,7 @@ public class UserController {
     @PostMapping("/register")
     public Result<Long> userRegister(@RequestBody UserRegisterDto userRegisterDto) {
         if (userRegisterDto == null) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+            throw BusinessException.of(ErrorCode.PARAMS_ERROR);
         }
         long result = userService.userRegister(userRegisterDto.getUserAccount(), userRegisterDto.getUserPassword(), userRegisterDto.getCheckPassword());
         return Result.success(result);
@@ -61,30 +97,31 @@ public class UserController {
      *
      * @param userLoginDto 用户登录请求
      * @param request 请求
+     * @param response 响应
      * @return 登录结果
      */
     @PostMapping("/login")
-    public Result<UserVo> userLogin(@RequestBody UserLoginDto userLoginDto, HttpServletRequest request) {
+    public Result<UserVo> userLogin(@RequestBody UserLoginDto userLoginDto, HttpServletRequest request, HttpServletResponse response) {
         ThrowUtils.throwIf(userLoginDto == null, ErrorCode.PARAMS_ERROR);
-        UserVo user = userService.userLogin(userLoginDto, request);
+        UserVo user = userService.userLogin(userLoginDto, request, response);
         return Result.success(user);
     }
 
     /**
      *
      * @param request 请求
+     * @param response 响应
      * @return 注销结果
      */
     @PostMapping("/logout")
-    public Result<Boolean> userLogout(HttpServletRequest request) {
+    public Result<Boolean> userLogout(HttpServletRequest request, HttpServletResponse response) {
         ThrowUtils.throwIf(request == null, ErrorCode.PARAMS_ERROR);
-        boolean result = userService.userLogout(request);
+        boolean result = userService.userLogout(request, response);
         return Result.success(result);
     }
 
     @GetMapping("/get/login")
-    public Result<UserVo> getLoginUser(HttpServletRequest request) {
-        User loginUser = userService.getLoginUser(request);
+    public Result<UserVo> getLoginUser(@CurrentUser User loginUser) {
         UserVo userVo=UserConvert.INSTANCE.yToVo(loginUser);
         return Result.success(userVo);
     }
@@ -105,7 +142,7 @@ public class UserController {
         Long userId = snowflakeIdGenerator.generateId();
         user.setId(userId);
         // 默认密码 12345678
-        String encryptPassword = DigestUtils.md5DigestAsHex((DEFAULT_PASSWORD).getBytes());
+        String encryptPassword = passwordService.hash(UserConstant.DEFAULT_PASSWORD);
         user.setUserPassword(encryptPassword);
         // 设置默认值
         user.setIsDelete(1);
@@ -116,13 +153,54 @@ public class UserController {
 
 
     /**
-     * 根据 id 获取用户（仅管理员）
+     * 批量导入用户（仅管理员）
+     * <p>
+     * 请求体为 CSV（Content-Type: text/csv，首行表头为字段名）或 NDJSON（application/x-ndjson），
+     * 字段：userAccount、userPassword（可空，默认 12345678）、userName、userAvatar、userProfile、userRole
+     *
+     * @param request 请求，请求体流式读取
+     * @return 导入结果与失败明细
+     */
+    @PostMapping("/import")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public Result<UserImportResultVo> importUsers(HttpServletRequest request) throws IOException {
+        DataFormatEnum format = DataFormatEnum.getEnumByContentType(request.getContentType());
+        ThrowUtils.throwIf(format == null, ErrorCode.PARAMS_ERROR, "仅支持 text/csv 或 application/x-ndjson");
+        return Result.success(userImportService.importUsers(request.getInputStream(), format));
+    }
+
+    /**
+     * 流式导出用户（仅管理员）
+     * <p>
+     * 响应体在异步线程中逐行写出，Tomcat 请求线程立即释放；筛选条件同分页查询，分页参数忽略
+     *
+     * @param userQueryDto 筛选条件
+     * @param format       CSV 或 NDJSON
+     * @param gzip         是否以 .gz 文件输出
+     * @return 流式响应
+     */
+    @PostMapping("/export")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestBody UserQueryDto userQueryDto,
+                                                             @RequestParam(defaultValue = "NDJSON") DataFormatEnum format,
+                                                             @RequestParam(defaultValue = "false") boolean gzip) {
+        ThrowUtils.throwIf(userQueryDto == null, ErrorCode.PARAMS_ERROR);
+        String filename = "users." + format.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = outputStream -> userExportService.exportUsers(userQueryDto, format, gzip, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    /**
+     * 根据 id 获取用户（仅管理员），返回完整实体
      */
     @GetMapping("/get")
     @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
     public Result<User> getUserById(long id) {
         ThrowUtils.throwIf(id <= 0, ErrorCode.PARAMS_ERROR);
-        User user = userService.queryById(id);
+        User user = userService.queryDetailById(id);
         ThrowUtils.throwIf(user == null, ErrorCode.NOT_FOUND_ERROR);
         return Result.success(user);
     }
@@ -139,6 +217,21 @@ public class UserController {
         return Result.success(userVo);
     }
 
+    /**
+     * 根据 id 批量获取包装类，按入参顺序返回，不存在的 id 跳过
+     */
+    @GetMapping("/get/vo/batch")
+    public Result<List<UserVo>> getUserVoByIds(@RequestParam List<Long> ids) {
+        ThrowUtils.throwIf(ids == null || ids.isEmpty() || ids.size() > BATCH_MAX_IDS, ErrorCode.PARAMS_ERROR,
+                "ids 数量需在 1 到 " + BATCH_MAX_IDS + " 之间");
+        ThrowUtils.throwIf(ids.stream().anyMatch(id -> id == null || id <= 0), ErrorCode.PARAMS_ERROR);
+        List<UserVo> userVoList = userService.queryByIds(ids)
+                .stream()
+                .map(UserConvert.INSTANCE::yToVo)
+                .collect(Collectors.toList());
+        return Result.success(userVoList);
+    }
+
     /**
      * 删除用户
      */
@@ -146,7 +239,7 @@ public class UserController {
     @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
     public Result<Boolean> deleteUser(@RequestBody DeleteRequest deleteRequest) {
         if (deleteRequest == null || deleteRequest.getId() <= 0) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+            throw BusinessException.of(ErrorCode.PARAMS_ERROR);
         }
         boolean rs = this.userService.deleteById(deleteRequest.getId());
         return Result.success(rs);
@@ -171,7 +264,7 @@ public class UserController {
     @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
     public Result<Boolean> updateUser(@RequestBody UserUpdateDto userUpdateDto) {
         if (userUpdateDto == null || userUpdateDto.getId() == null)
-            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+            throw BusinessException.of(ErrorCode.PARAMS_ERROR);
         User user =UserConvert.INSTANCE.updateToY(userUpdateDto);
         boolean result = userService.update(user);
         ThrowUtils.throwIf(!result, ErrorCode.OPERATION_ERROR);
@@ -186,20 +279,49 @@ public class UserController {
     @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
     public Result<PageResult<UserVo>> listUserVoByPage(@RequestBody UserQueryDto userQueryDto) {
         ThrowUtils.throwIf(userQueryDto == null, ErrorCode.PARAMS_ERROR);
-        PageResult<User> pageResult = userService.queryByPage(userQueryDto);
-        // 数据脱敏
-        List<UserVo> userVOList = pageResult.getRecords()
-                .stream()
-                .map(UserConvert.INSTANCE::yToVo)
-                .collect(Collectors.toList());
-        // 构建返回的分页结果
-        PageResult<UserVo> userVoPageResult = new PageResult<>();
-        userVoPageResult.setRecords(userVOList);
-        userVoPageResult.setPageNo(pageResult.getPageNo());
-        userVoPageResult.setPageSize(pageResult.getPageSize());
-        userVoPageResult.setTotal(pageResult.getTotal());
-        return Result.success(userVoPageResult);
+        // 查询时只读取脱敏后的列
+        return Result.success(userService.queryByPage(userQueryDto));
+    }
+
+    /**
+     * 搜索用户封装列表（仅管理员），账号、昵称、简介按子串匹配
+     * @param userQueryDto 查询请求参数，keyword 在三者中任一匹配即可
+     */
+    @PostMapping("/search/vo")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public Result<PageResult<UserVo>> searchUserVo(@RequestBody UserQueryDto userQueryDto) {
+        ThrowUtils.throwIf(userQueryDto == null, ErrorCode.PARAMS_ERROR);
+        return Result.success(userService.searchByPage(userQueryDto));
     }
-}
 
+    /**
+     * 游标分页获取用户封装列表（仅管理员），深翻页成本恒定
+     * @param userQueryDto 查询请求参数，cursor 取上一页返回的 nextCursor
+     */
+    @PostMapping("/list/cursor/vo")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public Result<CursorPageResult<UserVo>> listUserVoByCursor(@RequestBody UserQueryDto userQueryDto) {
+        ThrowUtils.throwIf(userQueryDto == null, ErrorCode.PARAMS_ERROR);
+        // 查询时只读取脱敏后的列
+        return Result.success(userService.queryByCursor(userQueryDto));
+    }
+
+    /**
+     * 用户缓存统计（仅管理员）
+     */
+    @GetMapping("/cache/stats")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public Result<CacheStatsVo> getUserCacheStats() {
+        return Result.success(userService.getUserCacheStats());
+    }
+
+    /**
+     * 密码哈希线程池统计（仅管理员）
+     */
+    @GetMapping("/password/hasher/stats")
+    @AuthCheck(mustRole = UserConstant.ADMIN_ROLE)
+    public Result<PasswordHasherStatsVo> getPasswordHasherStats() {
+        return Result.success(userService.getPasswordHasherStats());
+    }
+}
 
@@ -0,0 +1,127 @@
+package com.yt.aicode.basic.count;
+
+import cn.hutool.core.util.StrUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.yt.aicode.basic.dao.UserDao;
+import com.yt.aicode.basic.entity.User;
+import com.yt.aicode.basic.query.UserQueryRegistry;
+import com.yt.aicode.config.PageProperties;
+import com.yt.aicode.enums.CountModeEnum;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 用户分页总数统计，按 {@link CountModeEnum} 选择精确、缓存或估算
+ *
+ * @author wys17
+ */
+@Component
+public class UserCounter {
+
+    private final UserDao userDao;
+
+    private final UserQueryRegistry userQueryRegistry;
+
+    private final long estimateThreshold;
+
+    /**
+     * 规范化筛选条件 -> 总数
+     */
+    private final Cache<String, Long> countCache;
+
+    public UserCounter(UserDao userDao, UserQueryRegistry userQueryRegistry, PageProperties properties) {
+        this.userDao = userDao;
+        this.userQueryRegistry = userQueryRegistry;
+        this.estimateThreshold = properties.getEstimateThreshold();
+        this.countCache = Caffeine.newBuilder()
+                .maximumSize(properties.getCountCacheMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getCountCacheTtlSeconds()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 统计总数（HAS_NEXT 模式不在这里处理）
+     *
+     * @param user 查询条件
+     * @param mode 统计方式
+     * @return 统计结果
+     */
+    public CountResult count(User user, CountModeEnum mode) {
+        return switch (mode) {
+            case CACHED -> countCached(user);
+            case ESTIMATED -> countEstimated(user);
+            case EXACT, HAS_NEXT -> new CountResult(userQueryRegistry.count(user), true);
+        };
+    }
+
+    /**
+     * 总数缓存的命中/未命中统计
+     */
+    public CacheStats cacheStats() {
+        return countCache.stats();
+    }
+
+    /**
+     * 总数缓存条数（近似值）
+     */
+    public long cacheSize() {
+        return countCache.estimatedSize();
+    }
+
+    private CountResult countCached(User user) {
+        String key = normalize(user);
+        Long cached = countCache.getIfPresent(key);
+        if (cached != null) {
+            return new CountResult(cached, false);
+        }
+        long total = userQueryRegistry.count(user);
+        countCache.put(key, total);
+        return new CountResult(total, true);
+    }
+
+    private CountResult countEstimated(User user) {
+        // 表统计信息只反映全表行数（含软删除的行），带任何筛选条件（包括删除标记）时无法估算，退回缓存的 count
+        if (hasFilter(user)) {
+            return countCached(user);
+        }
+        Long estimate = userDao.estimateCount();
+        if (estimate != null && estimate >= estimateThreshold) {
+            return new CountResult(estimate, false);
+        }
+        return new CountResult(userQueryRegistry.count(user), true);
+    }
+
+    /**
+     * 将筛选条件规范化为缓存键：只包含参与 SQL 的非空字段，顺序固定
+     */
+    private static String normalize(User user) {
+        return "id=" + StrUtil.toStringOrNull(user.getId())
+                + "|account=" + StrUtil.emptyToNull(user.getUserAccount())
+                + "|name=" + StrUtil.emptyToNull(user.getUserName())
+                + "|profile=" + StrUtil.emptyToNull(user.getUserProfile())
+                + "|role=" + StrUtil.emptyToNull(user.getUserRole())
+                + "|isDelete=" + user.getIsDelete();
+    }
+
+    private static boolean hasFilter(User user) {
+        return user.getId() != null
+                || StrUtil.isNotEmpty(user.getUserAccount())
+                || StrUtil.isNotEmpty(user.getUserName())
+                || StrUtil.isNotEmpty(user.getUserProfile())
+                || StrUtil.isNotEmpty(user.getUserRole())
+                || user.getIsDelete() != null;
+    }
+
+    /**
+     * 统计结果
+     *
+     * @param total 总数
+     * @param exact 是否为精确值
+     */
+    public record CountResult(long total, boolean exact) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.yt.aicode.basic.dao;
+
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * ID计数器号段(id_block)表数据库访问层
+ *
+ * @author wys17
+ */
+public interface IdBlockDao {
+
+    /**
+     * 首次使用某个机器ID时创建计数器行，已存在时忽略
+     *
+     * @param machineId 机器ID
+     * @return 影响行数
+     */
+    int insertIgnore(@Param("machineId") long machineId);
+
+    /**
+     * 查询机器ID下一个未分配的计数器值
+     *
+     * @param machineId 机器ID
+     * @return 计数器值，行不存在时为 null
+     */
+    Long queryNextValue(@Param("machineId") long machineId);
+
+    /**
+     * 比较并推进计数器
+     *
+     * @param machineId 机器ID
+     * @param expected  期望的当前值
+     * @param next      推进后的值
+     * @return 影响行数，0 表示已被其他进程推进
+     */
+    int compareAndSet(@Param("machineId") long machineId,
+                      @Param("expected") long expected,
+                      @Param("next") long next);
+}
@@ -0,0 +1,56 @@
+package com.yt.aicode.basic.dao;
+
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 机器ID租约(machine_lease)表数据库访问层
+ *
+ * @author wys17
+ */
+public interface MachineLeaseDao {
+
+    /**
+     * 抢占从未被使用过的槽位
+     *
+     * @param machineId  机器ID
+     * @param owner      持有者标识
+     * @param ttlSeconds 租约时长（秒）
+     * @return 影响行数，1 表示抢占成功
+     */
+    int insertIgnore(@Param("machineId") long machineId,
+                     @Param("owner") String owner,
+                     @Param("ttlSeconds") long ttlSeconds);
+
+    /**
+     * 接管已过期的槽位
+     *
+     * @param machineId  机器ID
+     * @param owner      持有者标识
+     * @param ttlSeconds 租约时长（秒）
+     * @return 影响行数，1 表示接管成功
+     */
+    int takeOverExpired(@Param("machineId") long machineId,
+                        @Param("owner") String owner,
+                        @Param("ttlSeconds") long ttlSeconds);
+
+    /**
+     * 心跳续约
+     *
+     * @param machineId  机器ID
+     * @param owner      持有者标识
+     * @param ttlSeconds 租约时长（秒）
+     * @return 影响行数，0 表示租约已丢失
+     */
+    int renew(@Param("machineId") long machineId,
+              @Param("owner") String owner,
+              @Param("ttlSeconds") long ttlSeconds);
+
+    /**
+     * 释放租约
+     *
+     * @param machineId 机器ID
+     * @param owner     持有者标识
+     * @return 影响行数
+     */
+    int release(@Param("machineId") long machineId, @Param("owner") String owner);
+}
@@ -1,7 +1,11 @@
 package com.yt.aicode.basic.dao;
 
 import com.yt.aicode.basic.entity.User;
+import com.yt.aicode.vo.UserVo;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,6 +24,14 @@ public interface UserDao {
      */
     User queryById(Long id);
 
+    /**
+     * 通过ID批量查询资料视图（UserVo 对应的列，不含密码与审计列），结果顺序不保证，不存在的id不返回
+     *
+     * @param ids 主键集合，不能为空
+     * @return 对象列表
+     */
+    List<User> queryByIds(@Param("ids") Collection<Long> ids);
+
     /**
      * 通过实体作为筛选条件查询单条数据
      *
@@ -28,6 +40,15 @@ public interface UserDao {
      */
     User query(User user);
 
+    /**
+     * 登录查询：按账号查询单条数据（仅登录与脱敏返回所需的列）
+     *
+     * @param userAccount 账号
+     * @param isDelete    删除标记
+     * @return 实例对象
+     */
+    User queryLoginByAccount(@Param("userAccount") String userAccount, @Param("isDelete") Integer isDelete);
+
     /**
      * 统计总行数
      *
@@ -37,19 +58,173 @@ public interface UserDao {
     long count(@Param("user") User user);
 
     /**
-     * 查询指定行数据
+     * 根据表统计信息估算总行数
      *
-     * @param user 查询条件
-     * @param offset     起始位置
-     * @param pageSize   查询条数
-     * @return 对象列表
+     * @return 估算行数
+     */
+    Long estimateCount();
+
+    /**
+     * 查询指定行数据，只读取 UserVo 暴露的列
+     *
+     * @param user     查询条件
+     * @param offset   起始位置
+     * @param pageSize 查询条数
+     * @return 脱敏对象列表
+     */
+    List<UserVo> queryVoByLimit(@Param("user") User user,
+                                @Param("offset") int offset,
+                                @Param("pageSize") int pageSize);
+
+    /**
+     * 子串搜索统计（搜索索引不可用时使用），最多统计 maxCount 行
+     *
+     * @param user     查询条件，账号、昵称、简介已转义 LIKE 通配符
+     * @param keyword  已转义 LIKE 通配符的关键字，匹配账号、昵称、简介任一
+     * @param maxCount 统计上限
+     * @return 总行数，不超过 maxCount
+     */
+    long countSearch(@Param("user") User user, @Param("keyword") String keyword, @Param("maxCount") int maxCount);
+
+    /**
+     * 子串搜索分页（搜索索引不可用时使用），按id升序，与索引的结果顺序一致
+     *
+     * @param user     查询条件，账号、昵称、简介已转义 LIKE 通配符
+     * @param keyword  已转义 LIKE 通配符的关键字，匹配账号、昵称、简介任一
+     * @param offset   起始位置
+     * @param pageSize 查询条数
+     * @return 脱敏对象列表
+     */
+    List<UserVo> querySearchVoByLimit(@Param("user") User user,
+                                      @Param("keyword") String keyword,
+                                      @Param("offset") int offset,
+                                      @Param("pageSize") int pageSize);
+
+    /**
+     * 静态语句：按删除标记统计
+     */
+    long countAll(@Param("isDelete") Integer isDelete);
+
+    /**
+     * 静态语句：按id统计
+     */
+    long countById(@Param("id") Long id, @Param("isDelete") Integer isDelete);
+
+    /**
+     * 静态语句：按账号统计
+     */
+    long countByAccount(@Param("userAccount") String userAccount, @Param("isDelete") Integer isDelete);
+
+    /**
+     * 静态语句：按角色统计
+     */
+    long countByRole(@Param("userRole") String userRole, @Param("isDelete") Integer isDelete);
+
+    /**
+     * 静态语句：按昵称前缀统计
+     *
+     * @param namePrefix 已转义 LIKE 通配符的昵称前缀
+     */
+    long countByNamePrefix(@Param("namePrefix") String namePrefix, @Param("isDelete") Integer isDelete);
+
+    /**
+     * 静态语句：按删除标记分页
+     */
+    List<UserVo> queryVoPageAll(@Param("isDelete") Integer isDelete,
+                                @Param("offset") int offset,
+                                @Param("pageSize") int pageSize);
+
+    /**
+     * 静态语句：按id分页
+     */
+    List<UserVo> queryVoPageById(@Param("id") Long id,
+                                 @Param("isDelete") Integer isDelete,
+                                 @Param("offset") int offset,
+                                 @Param("pageSize") int pageSize);
+
+    /**
+     * 静态语句：按账号分页
+     */
+    List<UserVo> queryVoPageByAccount(@Param("userAccount") String userAccount,
+                                      @Param("isDelete") Integer isDelete,
+                                      @Param("offset") int offset,
+                                      @Param("pageSize") int pageSize);
+
+    /**
+     * 静态语句：按角色分页
      */
-    List<User> queryAllByLimit(@Param("user") User user,
-                                             @Param("offset") int offset,
-                                             @Param("pageSize") int pageSize);
+    List<UserVo> queryVoPageByRole(@Param("userRole") String userRole,
+                                   @Param("isDelete") Integer isDelete,
+                                   @Param("offset") int offset,
+                                   @Param("pageSize") int pageSize);
+
+    /**
+     * 静态语句：按昵称前缀分页
+     *
+     * @param namePrefix 已转义 LIKE 通配符的昵称前缀
+     */
+    List<UserVo> queryVoPageByNamePrefix(@Param("namePrefix") String namePrefix,
+                                         @Param("isDelete") Integer isDelete,
+                                         @Param("offset") int offset,
+                                         @Param("pageSize") int pageSize);
+
+    /**
+     * 游标分页查询：按 (create_time, id) 倒序读取游标之后的数据，只读取 UserVo 暴露的列
+     *
+     * @param user             查询条件
+     * @param cursorCreateTime 游标位置的创建时间，首页为 null
+     * @param cursorId         游标位置的id，首页为 null
+     * @param limit            查询条数
+     * @return 脱敏对象列表
+     */
+    List<UserVo> queryVoByCursor(@Param("user") User user,
+                                 @Param("cursorCreateTime") LocalDateTime cursorCreateTime,
+                                 @Param("cursorId") Long cursorId,
+                                 @Param("limit") int limit);
+
+    /**
+     * 按主键批量查询，只读取 UserVo 暴露的列，结果顺序不保证
+     *
+     * @param ids 主键集合，不能为空
+     * @return 脱敏对象列表
+     */
+    List<UserVo> queryVoByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按筛选条件流式读取脱敏列，用于导出
+     *
+     * @param user    查询条件
+     * @param handler 逐行回调
+     */
+    void streamVo(@Param("user") User user, ResultHandler<UserVo> handler);
+
+    /**
+     * 查询已存在的账号
+     *
+     * @param accounts 账号集合，不能为空
+     * @return 其中已存在的账号
+     */
+    List<String> queryExistingAccounts(@Param("accounts") Collection<String> accounts);
+
+    /**
+     * 流式读取全表的搜索字段（id、账号、昵称、简介、角色、删除标记）
+     *
+     * @param handler 逐行回调
+     */
+    void streamSearchRows(ResultHandler<User> handler);
+
+    /**
+     * 流式读取全部账号（含软删除），用于构建账号布隆过滤器
+     *
+     * @param handler 逐行回调
+     */
+    void streamAccounts(ResultHandler<String> handler);
 
     int insert(User user);
     int insertBatch(@Param("entities") List<User> entities);
+    /**
+     * 批量插入或更新；直接写库，不失效 UserCache 中已缓存的行，调用方须自行失效被更新的用户
+     */
     int insertOrUpdateBatch(@Param("entities") List<User> entities);
     int update(User user);
     int deleteById(Long id);
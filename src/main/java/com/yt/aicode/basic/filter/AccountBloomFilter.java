@@ -0,0 +1,356 @@
+package com.yt.aicode.basic.filter;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import com.yt.aicode.basic.dao.UserDao;
+import com.yt.aicode.config.AccountFilterProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 账号布隆过滤器：登录、导入前判断账号是否一定不存在
+ * <p>
+ * 启动后在后台流式读取全部账号构建，本节点插入或修改账号时同步加入，并定期重建；
+ * 其他节点写入的账号在下一次重建前不在过滤器中，因此登录只在 trustNegative 开启时直接采信"一定不存在"，
+ * 否则仍按账号查询确认，查到时补入过滤器（见 {@link #recordStaleMiss(String)}）。
+ * 账号数超过容量时提前按 growthFactor 扩容重建，使误判率保持在配置值附近。
+ * 软删除的账号仍占用唯一索引，因此删除时不从过滤器移除。
+ * 库表排序规则 utf8mb4_unicode_ci 下非 ASCII 账号的等价关系较复杂，这类账号不经过过滤器，总是视为可能存在。
+ *
+ * @author wys17
+ */
+@Slf4j
+@Component
+public class AccountBloomFilter {
+
+    private final UserDao userDao;
+
+    private final AccountFilterProperties properties;
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "account-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 生效中的过滤器，首次构建完成前为 null
+     */
+    private volatile Bits current;
+
+    /**
+     * 重建中的过滤器，重建期间的插入同时写入两者
+     */
+    private volatile Bits building;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * 已提交但尚未开始的扩容重建，避免超容量后每次插入都提交一次
+     */
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    /**
+     * 判定为一定不存在的次数
+     */
+    private final LongAdder definiteMissCount = new LongAdder();
+
+    /**
+     * 判定为一定不存在、但数据库中存在的次数（其他节点写入或外部修改的账号）
+     */
+    private final LongAdder staleMissCount = new LongAdder();
+
+    private final LongAdder rebuildCount = new LongAdder();
+
+    public AccountBloomFilter(UserDao userDao, AccountFilterProperties properties) {
+        if (properties.getFalsePositiveRate() <= 0 || properties.getFalsePositiveRate() >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        if (properties.getExpectedInsertions() < 1 || properties.getGrowthFactor() < 1) {
+            throw new IllegalArgumentException("Expected insertions and growth factor can't be less than 1");
+        }
+        this.userDao = userDao;
+        this.properties = properties;
+    }
+
+    /**
+     * 应用启动完成后立即构建，之后按固定间隔重建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuilder.scheduleWithFixedDelay(this::rebuild, 0L, properties.getRebuildIntervalMinutes(), TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * 流式读取全部账号重建过滤器，完成后整体替换
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            Bits old = current;
+            long capacity = old == null ? properties.getExpectedInsertions()
+                    : Math.max(properties.getExpectedInsertions(), (long) (old.size() * properties.getGrowthFactor()));
+            Bits next = new Bits(capacity, properties.getFalsePositiveRate());
+            building = next;
+            userDao.streamAccounts(context -> {
+                String key = key(context.getResultObject());
+                if (key != null) {
+                    next.add(key);
+                }
+            });
+            current = next;
+            rebuildCount.increment();
+            log.info("Account filter built: {} accounts, capacity {}, {} bits, {} hashes in {} ms", next.size(),
+                    capacity, next.bitSize(), next.hashCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            if (next.isOverCapacity()) {
+                // 首次构建时表已超过预期容量：按实际账号数再扩容一次
+                requestRebuild();
+            }
+        } catch (RuntimeException e) {
+            log.error("Account filter build failed", e);
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * 账号是否可能存在；未启用、未构建完成或账号不适用过滤器时返回 true
+     *
+     * @param account 账号
+     * @return false 表示一定不存在
+     */
+    public boolean mightContain(String account) {
+        Bits bits = current;
+        String key = key(account);
+        if (!properties.isEnabled() || bits == null || key == null) {
+            return true;
+        }
+        if (bits.mightContain(key)) {
+            return true;
+        }
+        definiteMissCount.increment();
+        return false;
+    }
+
+    /**
+     * 加入新插入的账号
+     *
+     * @param account 账号
+     */
+    public void put(String account) {
+        String key = key(account);
+        if (key == null) {
+            return;
+        }
+        // 先写重建中的过滤器再写生效中的：替换时先更新 current 再清空 building，两者之一必然包含该账号
+        Bits next = building;
+        if (next != null) {
+            next.add(key);
+        }
+        Bits bits = current;
+        if (bits != null) {
+            bits.add(key);
+            if (bits.isOverCapacity() && !rebuilding.get()) {
+                requestRebuild();
+            }
+        }
+    }
+
+    /**
+     * 判定为一定不存在的账号在数据库中查到：补入过滤器并计数
+     *
+     * @param account 账号
+     */
+    public void recordStaleMiss(String account) {
+        staleMissCount.increment();
+        put(account);
+    }
+
+    /**
+     * 登录是否可以直接采信"一定不存在"而不查询数据库
+     */
+    public boolean isTrustNegative() {
+        return properties.isEnabled() && properties.isTrustNegative();
+    }
+
+    /**
+     * 是否已构建完成
+     */
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * 已加入的账号数
+     */
+    public long size() {
+        Bits bits = current;
+        return bits == null ? 0L : bits.size();
+    }
+
+    /**
+     * 容量（按目标误判率分配位数时的账号数）
+     */
+    public long capacity() {
+        Bits bits = current;
+        return bits == null ? 0L : bits.capacity();
+    }
+
+    /**
+     * 置位比例
+     */
+    public double fillRatio() {
+        Bits bits = current;
+        return bits == null ? 0D : bits.fillRatio();
+    }
+
+    /**
+     * 按当前置位比例估算的误判率
+     */
+    public double expectedFalsePositiveRate() {
+        Bits bits = current;
+        return bits == null ? 1D : Math.pow(bits.fillRatio(), bits.hashCount());
+    }
+
+    public long getDefiniteMissCount() {
+        return definiteMissCount.sum();
+    }
+
+    public long getStaleMissCount() {
+        return staleMissCount.sum();
+    }
+
+    public long getRebuildCount() {
+        return rebuildCount.sum();
+    }
+
+    private void requestRebuild() {
+        if (!rebuildRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuilder.execute(() -> {
+                rebuildRequested.set(false);
+                rebuild();
+            });
+        } catch (RuntimeException e) {
+            rebuildRequested.set(false);
+            log.warn("Account filter rebuild not scheduled: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 过滤器键：ASCII 账号按排序规则忽略大小写与尾部空格；非 ASCII 账号返回 null
+     */
+    private static String key(String account) {
+        if (account == null) {
+            return null;
+        }
+        int end = account.length();
+        while (end > 0 && account.charAt(end - 1) == ' ') {
+            end--;
+        }
+        for (int i = 0; i < end; i++) {
+            if (account.charAt(i) > 0x7F) {
+                return null;
+            }
+        }
+        return account.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 固定大小的位数组，k 个下标由 128 位 Murmur 哈希的两半做双重哈希得到
+     */
+    private static final class Bits {
+
+        private final AtomicLongArray words;
+
+        private final long bitSize;
+
+        private final int hashCount;
+
+        private final long capacity;
+
+        private final LongAdder size = new LongAdder();
+
+        private final LongAdder bitsSet = new LongAdder();
+
+        Bits(long capacity, double falsePositiveRate) {
+            long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray(Math.toIntExact((bits + 63) / 64));
+            this.bitSize = words.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitSize / capacity * Math.log(2)));
+            this.capacity = capacity;
+        }
+
+        void add(String key) {
+            long[] hash = MurmurHash.hash128(key);
+            for (int i = 0; i < hashCount; i++) {
+                long index = Math.floorMod(hash[0] + i * hash[1], bitSize);
+                long mask = 1L << index;
+                long previous = words.getAndUpdate((int) (index >>> 6), word -> word | mask);
+                if ((previous & mask) == 0) {
+                    bitsSet.increment();
+                }
+            }
+            size.increment();
+        }
+
+        boolean mightContain(String key) {
+            long[] hash = MurmurHash.hash128(key);
+            for (int i = 0; i < hashCount; i++) {
+                long index = Math.floorMod(hash[0] + i * hash[1], bitSize);
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long size() {
+            return size.sum();
+        }
+
+        long capacity() {
+            return capacity;
+        }
+
+        long bitSize() {
+            return bitSize;
+        }
+
+        int hashCount() {
+            return hashCount;
+        }
+
+        boolean isOverCapacity() {
+            return size.sum() > capacity;
+        }
+
+        double fillRatio() {
+            return (double) bitsSet.sum() / bitSize;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.yt.aicode.basic.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis 语句耗时与行数统计
+ * <p>
+ * 拦截 Executor 的查询与更新，按 Mapper 语句（如 UserDao.queryById）记录耗时 mybatis.statement
+ * 与返回/影响行数 mybatis.statement.rows；流式查询的行数由 ResultHandler 消费，不计入行数。
+ * 由 MyBatis 自动配置收集为插件。
+ *
+ * @author wys17
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class MyBatisMetricsInterceptor implements Interceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 语句id + 结果 -> 计时器，避免每次调用重新构建 Meter.Id
+     */
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * 语句id -> 行数分布
+     */
+    private final Map<String, DistributionSummary> rows = new ConcurrentHashMap<>();
+
+    public MyBatisMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            Object result = invocation.proceed();
+            outcome = "success";
+            recordRows(statement, invocation, result);
+            return result;
+        } finally {
+            timer(statement, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void recordRows(MappedStatement statement, Invocation invocation, Object result) {
+        long count;
+        if (result instanceof List<?> list) {
+            Object[] args = invocation.getArgs();
+            if (args.length > 3 && args[3] != Executor.NO_RESULT_HANDLER) {
+                return;
+            }
+            count = list.size();
+        } else if (result instanceof Integer affected) {
+            count = affected;
+        } else {
+            return;
+        }
+        rows.computeIfAbsent(statement.getId(), id -> DistributionSummary.builder("mybatis.statement.rows")
+                .description("Rows returned or affected per mapper statement")
+                .tag("statement", shortName(id))
+                .register(meterRegistry)).record(count);
+    }
+
+    private Timer timer(MappedStatement statement, String outcome) {
+        return timers.computeIfAbsent(statement.getId() + '|' + outcome, key -> Timer.builder("mybatis.statement")
+                .description("Mapper statement execution time")
+                .tag("statement", shortName(statement.getId()))
+                .tag("type", statement.getSqlCommandType().name())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    /**
+     * 去掉包名：com.yt.aicode.basic.dao.UserDao.queryById -> UserDao.queryById
+     */
+    private static String shortName(String statementId) {
+        int method = statementId.lastIndexOf('.');
+        int type = method > 0 ? statementId.lastIndexOf('.', method - 1) : -1;
+        return statementId.substring(type + 1);
+    }
+}
@@ -0,0 +1,174 @@
+package com.yt.aicode.basic.metrics;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.yt.aicode.basic.cache.UserCache;
+import com.yt.aicode.basic.common.ConnectionLimitingDataSource;
+import com.yt.aicode.basic.common.SnowflakeIdGenerator;
+import com.yt.aicode.basic.count.UserCounter;
+import com.yt.aicode.basic.filter.AccountBloomFilter;
+import com.yt.aicode.basic.password.PasswordService;
+import com.yt.aicode.basic.query.ParallelPageExecutor;
+import com.yt.aicode.basic.query.UserQueryRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 将各组件已有的内部计数注册为指标：ID生成器、用户缓存与总数缓存、查询形状、分页并发执行、密码哈希线程池、连接许可、账号过滤器
+ * <p>
+ * 这里只在抓取时读取组件的计数，不在调用路径上额外计数。
+ *
+ * @author wys17
+ */
+@Component
+public class UserMetricsBinder implements MeterBinder {
+
+    private final SnowflakeIdGenerator idGenerator;
+
+    private final UserCache userCache;
+
+    private final UserCounter userCounter;
+
+    private final UserQueryRegistry userQueryRegistry;
+
+    private final PasswordService passwordService;
+
+    private final AccountBloomFilter accountBloomFilter;
+
+    private final ParallelPageExecutor parallelPageExecutor;
+
+    private final ObjectProvider<DataSource> dataSources;
+
+    public UserMetricsBinder(SnowflakeIdGenerator idGenerator, UserCache userCache, UserCounter userCounter,
+                             UserQueryRegistry userQueryRegistry, PasswordService passwordService,
+                             AccountBloomFilter accountBloomFilter, ParallelPageExecutor parallelPageExecutor,
+                             ObjectProvider<DataSource> dataSources) {
+        this.idGenerator = idGenerator;
+        this.userCache = userCache;
+        this.userCounter = userCounter;
+        this.userQueryRegistry = userQueryRegistry;
+        this.passwordService = passwordService;
+        this.accountBloomFilter = accountBloomFilter;
+        this.parallelPageExecutor = parallelPageExecutor;
+        this.dataSources = dataSources;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindIdGenerator(registry);
+        bindCache(registry, "user", userCache, UserCache::stats, UserCache::size);
+        bindCache(registry, "user-count", userCounter, UserCounter::cacheStats, UserCounter::cacheSize);
+        for (UserQueryRegistry.Shape shape : UserQueryRegistry.Shape.values()) {
+            FunctionCounter.builder("user.query.shape", userQueryRegistry, r -> r.hitCount(shape))
+                    .description("User queries by canonical shape")
+                    .tag("shape", shape.name())
+                    .register(registry);
+        }
+        FunctionCounter.builder("user.page.fetch", parallelPageExecutor, ParallelPageExecutor::getParallelCount)
+                .description("Paged queries by count and fetch execution")
+                .tag("execution", "parallel")
+                .register(registry);
+        FunctionCounter.builder("user.page.fetch", parallelPageExecutor, ParallelPageExecutor::getSequentialCount)
+                .tag("execution", "sequential")
+                .register(registry);
+        bindPasswordService(registry);
+        bindAccountFilter(registry);
+        dataSources.orderedStream()
+                .filter(ConnectionLimitingDataSource.class::isInstance)
+                .map(ConnectionLimitingDataSource.class::cast)
+                .forEach(limiter -> bindConnectionLimiter(registry, limiter));
+    }
+
+    private void bindIdGenerator(MeterRegistry registry) {
+        FunctionCounter.builder("id.generator.ids", idGenerator, SnowflakeIdGenerator::getGeneratedCount)
+                .description("Ids issued")
+                .register(registry);
+        FunctionCounter.builder("id.generator.sequence.waits", idGenerator, SnowflakeIdGenerator::getSequenceWaitCount)
+                .description("Waits for the next millisecond after the sequence was exhausted")
+                .register(registry);
+        FunctionCounter.builder("id.generator.clock.backward", idGenerator, SnowflakeIdGenerator::getClockBackwardCount)
+                .description("Clock moved backwards within the tolerated window")
+                .register(registry);
+    }
+
+    /**
+     * 与 Micrometer 自带缓存指标同名（cache.gets / cache.evictions / cache.size），另加命中率；
+     * 指标只弱引用被观测对象，因此传入缓存所属的组件而不是方法引用
+     */
+    private static <T> void bindCache(MeterRegistry registry, String name, T owner,
+                                      Function<T, CacheStats> stats, ToLongFunction<T> size) {
+        FunctionCounter.builder("cache.gets", owner, o -> stats.apply(o).hitCount())
+                .tag("cache", name).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", owner, o -> stats.apply(o).missCount())
+                .tag("cache", name).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", owner, o -> stats.apply(o).evictionCount())
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.size", owner, o -> size.applyAsLong(o))
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", owner, o -> stats.apply(o).hitRate())
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private void bindPasswordService(MeterRegistry registry) {
+        Gauge.builder("password.hasher.active", passwordService, p -> p.stats().getActiveCount())
+                .description("Password hashing tasks running")
+                .register(registry);
+        Gauge.builder("password.hasher.queued", passwordService, p -> p.stats().getQueueSize())
+                .description("Password hashing tasks waiting for a thread")
+                .register(registry);
+        FunctionCounter.builder("password.hasher.rejected", passwordService, p -> p.stats().getRejectedCount())
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(registry);
+        Gauge.builder("password.hasher.bulk.active", passwordService, p -> p.stats().getBulkActiveCount())
+                .description("Bulk (import) password hashing tasks running")
+                .register(registry);
+        Gauge.builder("password.hasher.bulk.queued", passwordService, p -> p.stats().getBulkQueueSize())
+                .description("Bulk (import) password hashing tasks waiting for a thread")
+                .register(registry);
+    }
+
+    private void bindAccountFilter(MeterRegistry registry) {
+        Gauge.builder("account.filter.size", accountBloomFilter, AccountBloomFilter::size)
+                .description("Accounts added to the bloom filter")
+                .register(registry);
+        Gauge.builder("account.filter.capacity", accountBloomFilter, AccountBloomFilter::capacity)
+                .register(registry);
+        Gauge.builder("account.filter.fill.ratio", accountBloomFilter, AccountBloomFilter::fillRatio)
+                .description("Fraction of bits set")
+                .register(registry);
+        Gauge.builder("account.filter.fpp", accountBloomFilter, AccountBloomFilter::expectedFalsePositiveRate)
+                .description("False positive probability estimated from the fill ratio")
+                .register(registry);
+        FunctionCounter.builder("account.filter.definite.misses", accountBloomFilter, AccountBloomFilter::getDefiniteMissCount)
+                .description("Lookups answered as definitely absent")
+                .register(registry);
+        FunctionCounter.builder("account.filter.stale.misses", accountBloomFilter, AccountBloomFilter::getStaleMissCount)
+                .description("Definite misses that the database then found, e.g. accounts written by another node")
+                .register(registry);
+        FunctionCounter.builder("account.filter.rebuilds", accountBloomFilter, AccountBloomFilter::getRebuildCount)
+                .register(registry);
+    }
+
+    private static void bindConnectionLimiter(MeterRegistry registry, ConnectionLimitingDataSource limiter) {
+        Gauge.builder("connection.limiter.active", limiter, ConnectionLimitingDataSource::getActiveConnections)
+                .description("Connections currently held through the limiter")
+                .register(registry);
+        Gauge.builder("connection.limiter.waiting", limiter, ConnectionLimitingDataSource::getQueueLength)
+                .description("Threads waiting for a connection permit")
+                .register(registry);
+        Gauge.builder("connection.limiter.max", limiter, ConnectionLimitingDataSource::getMaxConnections)
+                .register(registry);
+    }
+}
@@ -0,0 +1,40 @@
+package com.yt.aicode.basic.password;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 基于 spring-security-crypto PasswordEncoder 的哈希实现（bcrypt / PBKDF2 / Argon2id）
+ *
+ * @author wys17
+ */
+public class EncoderPasswordHasher implements PasswordHasher {
+
+    private final String id;
+
+    private final PasswordEncoder encoder;
+
+    public EncoderPasswordHasher(String id, PasswordEncoder encoder) {
+        this.id = id;
+        this.encoder = encoder;
+    }
+
+    @Override
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return encoder.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return encoder.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+}
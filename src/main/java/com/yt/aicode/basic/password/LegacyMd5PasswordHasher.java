@@ -0,0 +1,40 @@
+package com.yt.aicode.basic.password;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 历史格式：MD5(盐 + 明文)，只用于校验和登录时迁移，不再用于新密码
+ *
+ * @author wys17
+ */
+public class LegacyMd5PasswordHasher implements PasswordHasher {
+
+    public static final String ID = "md5";
+
+    private static final String SALT = "ai-code";
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return DigestUtils.md5DigestAsHex((SALT + rawPassword).getBytes());
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return MessageDigest.isEqual(
+                hash(rawPassword).getBytes(StandardCharsets.UTF_8),
+                encodedPassword.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return true;
+    }
+}
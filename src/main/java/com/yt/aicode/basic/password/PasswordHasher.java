@@ -0,0 +1,43 @@
+package com.yt.aicode.basic.password;
+
+/**
+ * 密码哈希算法
+ * <p>
+ * 存储格式为 {id}编码值，未带前缀的32位十六进制串视为历史 MD5 格式。
+ *
+ * @author wys17
+ */
+public interface PasswordHasher {
+
+    /**
+     * 算法标识，作为存储前缀
+     */
+    String id();
+
+    /**
+     * 计算哈希
+     *
+     * @param rawPassword 明文密码
+     * @return 不含前缀的编码值
+     */
+    String hash(String rawPassword);
+
+    /**
+     * 校验密码，实现须以常量时间比对
+     *
+     * @param rawPassword     明文密码
+     * @param encodedPassword 不含前缀的编码值
+     * @return 是否匹配
+     */
+    boolean matches(String rawPassword, String encodedPassword);
+
+    /**
+     * 编码值的参数是否弱于当前配置，需要重新哈希
+     *
+     * @param encodedPassword 不含前缀的编码值
+     * @return 是否需要重新哈希
+     */
+    default boolean needsRehash(String encodedPassword) {
+        return false;
+    }
+}
@@ -0,0 +1,265 @@
+package com.yt.aicode.basic.password;
+
+import com.yt.aicode.config.PasswordProperties;
+import com.yt.aicode.exception.BusinessException;
+import com.yt.aicode.exception.ErrorCode;
+import com.yt.aicode.vo.PasswordHasherStatsVo;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 密码哈希服务
+ * <p>
+ * 新密码使用配置的算法，存储为 {id}编码值；校验时按前缀选择算法，历史 MD5 密码同样可校验并提示迁移。
+ * 哈希是 CPU 密集操作，统一在有界线程池中执行，队满即拒绝，避免登录洪峰占满 Tomcat 请求线程。
+ * 导入的批量哈希使用独立的线程池并按单条提交，不占用登录校验的线程与队列。
+ *
+ * @author wys17
+ */
+@Slf4j
+@Component
+public class PasswordService {
+
+    private final PasswordHasher current;
+
+    private final Map<String, PasswordHasher> hashers;
+
+    private final PasswordHasher legacy = new LegacyMd5PasswordHasher();
+
+    /**
+     * 当前算法对随机明文的编码值，账号不存在时对其做一次校验，使响应耗时与账号存在时一致
+     */
+    private final String dummyPassword;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 批量哈希线程池
+     */
+    private final ThreadPoolExecutor bulkExecutor;
+
+    private final int queueCapacity;
+
+    private final long timeoutMs;
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private final LongAdder hashCount = new LongAdder();
+
+    private final LongAdder hashNanos = new LongAdder();
+
+    public PasswordService(PasswordProperties properties) {
+        PasswordHasher bcrypt = new EncoderPasswordHasher("bcrypt",
+                new BCryptPasswordEncoder(properties.getBcryptStrength()));
+        PasswordHasher pbkdf2 = new EncoderPasswordHasher("pbkdf2",
+                new Pbkdf2PasswordEncoder("", 16, properties.getPbkdf2Iterations(),
+                        Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        PasswordHasher argon2 = new EncoderPasswordHasher("argon2",
+                new Argon2PasswordEncoder(16, 32, properties.getArgon2Parallelism(),
+                        properties.getArgon2MemoryKb(), properties.getArgon2Iterations()));
+        this.hashers = Stream.of(bcrypt, pbkdf2, argon2, legacy)
+                .collect(Collectors.toMap(PasswordHasher::id, Function.identity()));
+        this.current = switch (properties.getAlgorithm()) {
+            case ARGON2 -> argon2;
+            case BCRYPT -> bcrypt;
+            case PBKDF2 -> pbkdf2;
+        };
+        this.dummyPassword = current.hash(UUID.randomUUID().toString());
+        this.queueCapacity = properties.getQueueCapacity();
+        this.timeoutMs = properties.getTimeoutMs();
+        this.executor = newExecutor("password-hasher-", properties.getExecutorThreads(), queueCapacity);
+        this.bulkExecutor = newExecutor("password-bulk-hasher-", properties.getBulkThreads(),
+                properties.getBulkQueueCapacity());
+    }
+
+    /**
+     * 使用当前算法哈希密码
+     *
+     * @param rawPassword 明文密码
+     * @return 带算法前缀的编码值
+     */
+    public String hash(String rawPassword) {
+        return execute(() -> "{" + current.id() + "}" + current.hash(rawPassword));
+    }
+
+    /**
+     * 批量哈希密码：在批量哈希线程池中逐条并行执行，用于批量导入
+     * <p>
+     * 整批的等待上限为单条超时乘以每个线程分到的条数。
+     *
+     * @param rawPasswords 明文密码
+     * @return 与入参顺序一致的编码值
+     */
+    public List<String> hashAll(List<String> rawPasswords) {
+        int size = rawPasswords.size();
+        if (size == 0) {
+            return List.of();
+        }
+        int threads = bulkExecutor.getMaximumPoolSize();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs * ((size + threads - 1) / threads));
+        List<Future<String>> futures = new ArrayList<>(size);
+        List<String> encoded = new ArrayList<>(size);
+        try {
+            for (String rawPassword : rawPasswords) {
+                futures.add(submit(bulkExecutor, () -> timed(() -> "{" + current.id() + "}" + current.hash(rawPassword))));
+            }
+            for (Future<String> future : futures) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                encoded.add(await(future, Math.max(remainingMs, 0L)));
+            }
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        return encoded;
+    }
+
+    /**
+     * 校验密码
+     *
+     * @param rawPassword    明文密码
+     * @param storedPassword 数据库中的密码
+     * @return 校验结果
+     */
+    public VerifyResult verify(String rawPassword, String storedPassword) {
+        if (storedPassword == null) {
+            return new VerifyResult(false, false);
+        }
+        String id = LegacyMd5PasswordHasher.ID;
+        String encoded = storedPassword;
+        int end = storedPassword.indexOf('}');
+        if (storedPassword.startsWith("{") && end > 0) {
+            id = storedPassword.substring(1, end);
+            encoded = storedPassword.substring(end + 1);
+        }
+        PasswordHasher hasher = hashers.get(id);
+        if (hasher == null) {
+            return new VerifyResult(false, false);
+        }
+        String encodedPassword = encoded;
+        return execute(() -> {
+            boolean matches = hasher.matches(rawPassword, encodedPassword);
+            boolean needsRehash = matches && (hasher != current || hasher.needsRehash(encodedPassword));
+            return new VerifyResult(matches, needsRehash);
+        });
+    }
+
+    /**
+     * 对预先计算的占位编码值做一次完整校验，结果丢弃；用于账号不存在时的登录，避免耗时差异暴露账号是否存在
+     *
+     * @param rawPassword 明文密码
+     */
+    public void verifyDummy(String rawPassword) {
+        verify(rawPassword, "{" + current.id() + "}" + dummyPassword);
+    }
+
+    /**
+     * 线程池与耗时统计
+     */
+    public PasswordHasherStatsVo stats() {
+        PasswordHasherStatsVo statsVo = new PasswordHasherStatsVo();
+        statsVo.setAlgorithm(current.id());
+        statsVo.setPoolSize(executor.getPoolSize());
+        statsVo.setActiveCount(executor.getActiveCount());
+        statsVo.setQueueSize(executor.getQueue().size());
+        statsVo.setQueueCapacity(queueCapacity);
+        statsVo.setCompletedCount(executor.getCompletedTaskCount());
+        statsVo.setRejectedCount(rejectedCount.sum());
+        long count = hashCount.sum();
+        statsVo.setAverageHashMillis(count == 0 ? 0D : hashNanos.sum() / 1e6 / count);
+        statsVo.setBulkActiveCount(bulkExecutor.getActiveCount());
+        statsVo.setBulkQueueSize(bulkExecutor.getQueue().size());
+        return statsVo;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        bulkExecutor.shutdownNow();
+    }
+
+    private static ThreadPoolExecutor newExecutor(String namePrefix, int threads, int queueCapacity) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, namePrefix + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private <T> T execute(Callable<T> task) {
+        return await(submit(executor, () -> timed(task)), timeoutMs);
+    }
+
+    private <T> Future<T> submit(ThreadPoolExecutor executor, Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw BusinessException.of(ErrorCode.SYSTEM_BUSY_ERROR);
+        }
+    }
+
+    /**
+     * 执行单次哈希或校验并记录耗时
+     */
+    private <T> T timed(Callable<T> task) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return task.call();
+        } finally {
+            hashNanos.add(System.nanoTime() - start);
+            hashCount.increment();
+        }
+    }
+
+    private <T> T await(Future<T> future, long timeoutMs) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw BusinessException.of(ErrorCode.SYSTEM_BUSY_ERROR);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw BusinessException.of(ErrorCode.SYSTEM_BUSY_ERROR);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * 密码校验结果
+     *
+     * @param matches     是否匹配
+     * @param needsRehash 是否需要按当前算法重新哈希
+     */
+    public record VerifyResult(boolean matches, boolean needsRehash) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.yt.aicode.basic.query;
+
+import com.yt.aicode.basic.common.ConnectionLimitingDataSource;
+import com.yt.aicode.config.PageProperties;
+import com.yt.aicode.exception.BusinessException;
+import com.yt.aicode.exception.ErrorCode;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 分页的总数统计与本页查询并发执行
+ * <p>
+ * 总数提交到有界线程池，请求线程同时查询本页，两者各占一个连接，耗时取较慢者而非两者之和。
+ * 未启用、连接池紧张（可用连接不足或已有线程在等待连接）或线程池队满时返回 null，由调用方顺序执行。
+ *
+ * @author wys17
+ */
+@Slf4j
+@Component
+public class ParallelPageExecutor {
+
+    private final PageProperties properties;
+
+    private final DataSource dataSource;
+
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder parallelCount = new LongAdder();
+
+    private final LongAdder sequentialCount = new LongAdder();
+
+    /**
+     * 解析出的 Hikari 连接池，虚拟线程模式下数据源外层还有一层连接许可
+     */
+    private volatile HikariDataSource hikariDataSource;
+
+    public ParallelPageExecutor(PageProperties properties, DataSource dataSource) {
+        this.properties = properties;
+        this.dataSource = dataSource;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getParallelThreads(), properties.getParallelThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getParallelQueueCapacity()), r -> {
+            Thread thread = new Thread(r, "page-count-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 并发执行总数统计与本页查询
+     *
+     * @param count 总数统计，在线程池中执行
+     * @param fetch 本页查询，在当前线程执行
+     * @return 两者结果；不满足并发条件时返回 null
+     */
+    public <C, R> Joined<C, R> tryRun(Callable<C> count, Supplier<R> fetch) {
+        if (!properties.isParallelFetch() || underPressure()) {
+            sequentialCount.increment();
+            return null;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getParallelTimeoutMs());
+        Future<C> countFuture;
+        try {
+            countFuture = executor.submit(count);
+        } catch (RejectedExecutionException e) {
+            sequentialCount.increment();
+            return null;
+        }
+        parallelCount.increment();
+        R records;
+        try {
+            records = fetch.get();
+        } catch (RuntimeException e) {
+            countFuture.cancel(true);
+            throw e;
+        }
+        return new Joined<>(await(countFuture, deadline), records);
+    }
+
+    public long getParallelCount() {
+        return parallelCount.sum();
+    }
+
+    public long getSequentialCount() {
+        return sequentialCount.sum();
+    }
+
+    /**
+     * 连接池是否紧张；连接池尚未启动或无法识别时按紧张处理
+     */
+    private boolean underPressure() {
+        if (dataSource instanceof ConnectionLimitingDataSource limiter && limiter.getQueueLength() > 0) {
+            return true;
+        }
+        HikariDataSource hikari = resolveHikari();
+        HikariPoolMXBean pool = hikari == null ? null : hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return true;
+        }
+        int available = pool.getIdleConnections() + hikari.getMaximumPoolSize() - pool.getTotalConnections();
+        return pool.getThreadsAwaitingConnection() > 0 || available < properties.getParallelMinAvailableConnections();
+    }
+
+    private HikariDataSource resolveHikari() {
+        HikariDataSource hikari = hikariDataSource;
+        if (hikari == null) {
+            try {
+                if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                    hikari = dataSource.unwrap(HikariDataSource.class);
+                    hikariDataSource = hikari;
+                }
+            } catch (SQLException e) {
+                log.warn("Unable to resolve Hikari pool: {}", e.getMessage());
+            }
+        }
+        return hikari;
+    }
+
+    private static <T> T await(Future<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw BusinessException.of(ErrorCode.SYSTEM_BUSY_ERROR);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw BusinessException.of(ErrorCode.SYSTEM_BUSY_ERROR);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Page count failed", e.getCause());
+        }
+    }
+
+    /**
+     * 并发执行的结果
+     *
+     * @param count   总数统计结果
+     * @param records 本页数据
+     */
+    public record Joined<C, R>(C count, R records) {
+    }
+}
@@ -0,0 +1,244 @@
+package com.yt.aicode.basic.query;
+
+import cn.hutool.core.util.StrUtil;
+import com.yt.aicode.basic.dao.UserDao;
+import com.yt.aicode.basic.entity.User;
+import com.yt.aicode.vo.UserVo;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 用户查询形状注册表
+ * <p>
+ * 将筛选条件规范化为固定的查询形状（全部、按id、按账号、按角色、按昵称前缀），
+ * 每种形状对应一条不含动态标签的静态语句；其余组合回落到动态语句。
+ * 昵称统一按前缀匹配，LIKE 通配符在这里转义。
+ *
+ * @author wys17
+ */
+@Component
+public class UserQueryRegistry {
+
+    private final UserDao userDao;
+
+    /**
+     * 各形状的调用次数
+     */
+    private final Map<Shape, LongAdder> hits = new EnumMap<>(Shape.class);
+
+    public UserQueryRegistry(UserDao userDao) {
+        this.userDao = userDao;
+        for (Shape shape : Shape.values()) {
+            hits.put(shape, new LongAdder());
+        }
+    }
+
+    /**
+     * 统计总数
+     *
+     * @param user 查询条件
+     * @return 总数
+     */
+    public long count(User user) {
+        Shape shape = shapeOf(user);
+        hits.get(shape).increment();
+        Integer isDelete = user.getIsDelete();
+        return switch (shape) {
+            case ALL -> userDao.countAll(isDelete);
+            case BY_ID -> userDao.countById(user.getId(), isDelete);
+            case BY_ACCOUNT -> userDao.countByAccount(user.getUserAccount(), isDelete);
+            case BY_ROLE -> userDao.countByRole(user.getUserRole(), isDelete);
+            case BY_NAME_PREFIX -> userDao.countByNamePrefix(escapeLike(user.getUserName()), isDelete);
+            case DYNAMIC -> userDao.count(escapeName(user));
+        };
+    }
+
+    /**
+     * 分页查询脱敏列
+     *
+     * @param user     查询条件
+     * @param offset   起始位置
+     * @param pageSize 查询条数
+     * @return 脱敏对象列表
+     */
+    public List<UserVo> page(User user, int offset, int pageSize) {
+        Shape shape = shapeOf(user);
+        hits.get(shape).increment();
+        Integer isDelete = user.getIsDelete();
+        return switch (shape) {
+            case ALL -> userDao.queryVoPageAll(isDelete, offset, pageSize);
+            case BY_ID -> userDao.queryVoPageById(user.getId(), isDelete, offset, pageSize);
+            case BY_ACCOUNT -> userDao.queryVoPageByAccount(user.getUserAccount(), isDelete, offset, pageSize);
+            case BY_ROLE -> userDao.queryVoPageByRole(user.getUserRole(), isDelete, offset, pageSize);
+            case BY_NAME_PREFIX -> userDao.queryVoPageByNamePrefix(escapeLike(user.getUserName()), isDelete, offset, pageSize);
+            case DYNAMIC -> userDao.queryVoByLimit(escapeName(user), offset, pageSize);
+        };
+    }
+
+    /**
+     * 游标分页查询脱敏列（游标条件本身是动态的，只做昵称转义）
+     */
+    public List<UserVo> cursor(User user, LocalDateTime cursorCreateTime, Long cursorId, int limit) {
+        return userDao.queryVoByCursor(escapeName(user), cursorCreateTime, cursorId, limit);
+    }
+
+    /**
+     * 按筛选条件流式读取脱敏列（导出只执行一次，直接使用动态语句）
+     */
+    public void stream(User user, ResultHandler<UserVo> handler) {
+        userDao.streamVo(escapeName(user), handler);
+    }
+
+    /**
+     * 子串搜索统计（搜索索引不可用时使用），总数最多统计到 maxCount
+     */
+    public long searchCount(User user, String keyword, int maxCount) {
+        return userDao.countSearch(escapeSearch(user), escapeKeyword(keyword), maxCount);
+    }
+
+    /**
+     * 子串搜索分页（搜索索引不可用时使用）
+     */
+    public List<UserVo> searchPage(User user, String keyword, int offset, int pageSize) {
+        return userDao.querySearchVoByLimit(escapeSearch(user), escapeKeyword(keyword), offset, pageSize);
+    }
+
+    /**
+     * 判断筛选条件对应的查询形状
+     *
+     * @param user 查询条件
+     * @return 查询形状
+     */
+    public Shape shapeOf(User user) {
+        if (user.getIsDelete() == null
+                || StrUtil.isNotEmpty(user.getUserPassword())
+                || StrUtil.isNotEmpty(user.getUserAvatar())
+                || StrUtil.isNotEmpty(user.getUserProfile())
+                || user.getEditTime() != null
+                || user.getCreateTime() != null
+                || user.getUpdateTime() != null) {
+            return Shape.DYNAMIC;
+        }
+        Shape shape = Shape.ALL;
+        int filters = 0;
+        if (user.getId() != null) {
+            shape = Shape.BY_ID;
+            filters++;
+        }
+        if (StrUtil.isNotEmpty(user.getUserAccount())) {
+            shape = Shape.BY_ACCOUNT;
+            filters++;
+        }
+        if (StrUtil.isNotEmpty(user.getUserRole())) {
+            shape = Shape.BY_ROLE;
+            filters++;
+        }
+        if (StrUtil.isNotEmpty(user.getUserName())) {
+            shape = Shape.BY_NAME_PREFIX;
+            filters++;
+        }
+        return filters > 1 ? Shape.DYNAMIC : shape;
+    }
+
+    /**
+     * 各形状的调用次数
+     */
+    public Map<Shape, Long> hitCounts() {
+        Map<Shape, Long> counts = new EnumMap<>(Shape.class);
+        hits.forEach((shape, adder) -> counts.put(shape, adder.sum()));
+        return counts;
+    }
+
+    /**
+     * 某一形状的调用次数
+     */
+    public long hitCount(Shape shape) {
+        return hits.get(shape).sum();
+    }
+
+    /**
+     * 复制筛选条件并转义昵称中的 LIKE 通配符，避免修改调用方对象
+     */
+    private static User escapeName(User user) {
+        if (StrUtil.isEmpty(user.getUserName())) {
+            return user;
+        }
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUserAccount(user.getUserAccount());
+        copy.setUserPassword(user.getUserPassword());
+        copy.setUserName(escapeLike(user.getUserName()));
+        copy.setUserAvatar(user.getUserAvatar());
+        copy.setUserProfile(user.getUserProfile());
+        copy.setUserRole(user.getUserRole());
+        copy.setEditTime(user.getEditTime());
+        copy.setCreateTime(user.getCreateTime());
+        copy.setUpdateTime(user.getUpdateTime());
+        copy.setIsDelete(user.getIsDelete());
+        return copy;
+    }
+
+    /**
+     * 复制筛选条件，账号、昵称、简介按搜索索引的规则去除首尾空白、转小写，并转义 LIKE 通配符
+     */
+    private static User escapeSearch(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUserAccount(escapeKeyword(user.getUserAccount()));
+        copy.setUserName(escapeKeyword(user.getUserName()));
+        copy.setUserProfile(escapeKeyword(user.getUserProfile()));
+        copy.setUserRole(user.getUserRole());
+        copy.setIsDelete(user.getIsDelete());
+        return copy;
+    }
+
+    private static String escapeKeyword(String value) {
+        return StrUtil.isBlank(value) ? null : escapeLike(value.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 转义 LIKE 通配符（MySQL 默认转义字符为反斜杠）
+     */
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    /**
+     * 查询形状
+     */
+    public enum Shape {
+        /**
+         * 无筛选条件
+         */
+        ALL,
+        /**
+         * 只按id
+         */
+        BY_ID,
+        /**
+         * 只按账号
+         */
+        BY_ACCOUNT,
+        /**
+         * 只按角色
+         */
+        BY_ROLE,
+        /**
+         * 只按昵称前缀
+         */
+        BY_NAME_PREFIX,
+        /**
+         * 其他组合，使用动态语句
+         */
+        DYNAMIC
+    }
+}
@@ -0,0 +1,481 @@
+package com.yt.aicode.basic.search;
+
+import cn.hutool.core.util.StrUtil;
+import com.yt.aicode.basic.dao.UserDao;
+import com.yt.aicode.basic.entity.User;
+import com.yt.aicode.config.UserSearchProperties;
+import com.yt.aicode.exception.BusinessException;
+import com.yt.aicode.exception.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 用户搜索内存倒排索引
+ * <p>
+ * 对账号、昵称、简介分别建立 1-gram 与 2-gram 倒排表（适合无分词的中文），
+ * 查询时取查询串各 2-gram 中最短的倒排表作为候选，再校验原文包含关系，结果即子串匹配。
+ * <p>
+ * 文档按加入顺序分配序号，倒排表存放升序的 int 序号数组而非装箱的id集合；
+ * 更新或删除只把旧序号置为空（墓碑），由定期重建压缩。
+ * 每个字段只对前 maxIndexedChars 个字符建倒排，更长的文本记入该字段的溢出列表，查询时逐条校验，
+ * 因此长简介不会让倒排表无限增长，匹配结果仍然完整。
+ * <p>
+ * 启动后在后台线程流式读取全表构建，之后按固定间隔重建，使其他节点的写入最终可见；
+ * 本节点的写操作由 UserService 增量同步，重建期间发生的变更在新索引生效后按id补录。
+ *
+ * @author wys17
+ */
+@Slf4j
+@Component
+public class UserSearchIndex {
+
+    private final UserDao userDao;
+
+    private final UserSearchProperties properties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "user-search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 生效中的索引，读写都在 lock 保护下进行
+     */
+    private Index index;
+
+    /**
+     * 重建期间发生变更的用户id
+     */
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile boolean ready;
+
+    public UserSearchIndex(UserDao userDao, UserSearchProperties properties) {
+        if (properties.getMaxIndexedChars() < 2) {
+            throw new IllegalArgumentException("Max indexed chars can't be less than 2");
+        }
+        this.userDao = userDao;
+        this.properties = properties;
+        this.index = new Index(properties.getMaxIndexedChars());
+    }
+
+    /**
+     * 应用启动完成后在后台构建索引，不阻塞启动；之后按固定间隔重建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuilder.scheduleWithFixedDelay(this::rebuild, 0L, properties.getRebuildIntervalMinutes(), TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * 流式读取全表重建索引，完成后整体替换
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        changedDuringRebuild.clear();
+        long start = System.nanoTime();
+        try {
+            Index next = new Index(properties.getMaxIndexedChars());
+            userDao.streamSearchRows(context -> next.put(Doc.of(context.getResultObject())));
+            lock.writeLock().lock();
+            try {
+                index = next;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // 重建期间的写操作只作用在旧索引上，按id补录到新索引
+            for (Long id : changedDuringRebuild) {
+                refresh(id);
+            }
+            ready = true;
+            log.info("User search index built: {} users, {} postings, {} overflow entries in {} ms", next.size(),
+                    next.postingCount(), next.overflowCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            log.error("User search index build failed", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * 索引或覆盖一个用户（插入后调用，实体需包含账号、昵称、简介、角色）
+     *
+     * @param user 用户
+     */
+    public void put(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        Doc doc = Doc.of(user);
+        lock.writeLock().lock();
+        try {
+            index.put(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        markChanged(doc.id());
+    }
+
+    /**
+     * 从数据库重新读取一个用户并更新索引（更新后调用）
+     *
+     * @param id 用户id
+     */
+    public void refresh(Long id) {
+        if (id == null) {
+            return;
+        }
+        User user = userDao.queryById(id);
+        if (user == null) {
+            remove(id);
+        } else {
+            put(user);
+        }
+    }
+
+    /**
+     * 从索引中移除一个用户
+     *
+     * @param id 用户id
+     */
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            index.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        markChanged(id);
+    }
+
+    /**
+     * 搜索用户id
+     * <p>
+     * 账号、昵称、简介按子串匹配，keyword 在三者中任一匹配即可；id、角色、删除标记按等值过滤。
+     *
+     * @param filter  筛选条件
+     * @param keyword 关键词，可为空
+     * @return 按id升序排列的用户id
+     */
+    public List<Long> search(User filter, String keyword) {
+        if (!ready) {
+            throw new BusinessException(ErrorCode.SYSTEM_BUSY_ERROR, "搜索索引构建中，请稍后重试");
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(filter, keyword);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 索引是否已构建完成
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 已索引的用户数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void markChanged(Long id) {
+        if (rebuilding.get()) {
+            changedDuringRebuild.add(id);
+        }
+    }
+
+    /**
+     * 统一小写并去除首尾空白，空串返回 null
+     */
+    private static String normalize(String text) {
+        return StrUtil.isBlank(text) ? null : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 一份完整的索引数据；非线程安全，由外层锁保护
+     */
+    private static final class Index {
+
+        private final int maxIndexedChars;
+
+        /**
+         * 序号 -> 文档，已删除或被覆盖的序号为 null
+         */
+        private final List<Doc> docs = new ArrayList<>();
+
+        /**
+         * 用户id -> 当前序号
+         */
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+
+        /**
+         * 各字段的倒排表：token -> 升序序号
+         */
+        private final Map<Field, Map<String, IntList>> postings = new EnumMap<>(Field.class);
+
+        /**
+         * 各字段中超过 maxIndexedChars 的文档序号，查询时逐条校验
+         */
+        private final Map<Field, IntList> overflow = new EnumMap<>(Field.class);
+
+        Index(int maxIndexedChars) {
+            this.maxIndexedChars = maxIndexedChars;
+            for (Field field : Field.values()) {
+                postings.put(field, new HashMap<>());
+                overflow.put(field, new IntList());
+            }
+        }
+
+        void put(Doc doc) {
+            remove(doc.id());
+            // 新序号总是当前最大值，追加后各倒排表保持升序
+            int ordinal = docs.size();
+            docs.add(doc);
+            ordinals.put(doc.id(), ordinal);
+            for (Field field : Field.values()) {
+                String text = doc.text(field);
+                Map<String, IntList> fieldPostings = postings.get(field);
+                for (String token : tokenize(text, maxIndexedChars)) {
+                    fieldPostings.computeIfAbsent(token, k -> new IntList()).add(ordinal);
+                }
+                if (text.length() > maxIndexedChars) {
+                    overflow.get(field).add(ordinal);
+                }
+            }
+        }
+
+        void remove(long id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                docs.set(ordinal, null);
+            }
+        }
+
+        int size() {
+            return ordinals.size();
+        }
+
+        long postingCount() {
+            long count = 0;
+            for (Map<String, IntList> fieldPostings : postings.values()) {
+                for (IntList list : fieldPostings.values()) {
+                    count += list.size;
+                }
+            }
+            return count;
+        }
+
+        long overflowCount() {
+            long count = 0;
+            for (IntList list : overflow.values()) {
+                count += list.size;
+            }
+            return count;
+        }
+
+        List<Long> search(User filter, String keyword) {
+            BitSet candidates = null;
+            String normalizedKeyword = normalize(keyword);
+            if (normalizedKeyword != null) {
+                candidates = new BitSet(docs.size());
+                for (Field field : Field.values()) {
+                    candidates.or(match(field, normalizedKeyword));
+                }
+            }
+            candidates = retain(candidates, Field.ACCOUNT, filter.getUserAccount());
+            candidates = retain(candidates, Field.NAME, filter.getUserName());
+            candidates = retain(candidates, Field.PROFILE, filter.getUserProfile());
+
+            List<Long> ids = new ArrayList<>();
+            if (candidates == null) {
+                for (Doc doc : docs) {
+                    if (doc != null && accepts(doc, filter)) {
+                        ids.add(doc.id());
+                    }
+                }
+            } else {
+                for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+                    Doc doc = docs.get(ordinal);
+                    if (doc != null && accepts(doc, filter)) {
+                        ids.add(doc.id());
+                    }
+                }
+            }
+            ids.sort(null);
+            return ids;
+        }
+
+        private BitSet retain(BitSet candidates, Field field, String value) {
+            String text = normalize(value);
+            if (text == null) {
+                return candidates;
+            }
+            BitSet matched = match(field, text);
+            if (candidates == null) {
+                return matched;
+            }
+            candidates.and(matched);
+            return candidates;
+        }
+
+        /**
+         * 单字段子串匹配：倒排表给出前 maxIndexedChars 个字符内的候选，溢出列表补充更长的文本，均校验原文
+         */
+        private BitSet match(Field field, String text) {
+            BitSet result = new BitSet(docs.size());
+            IntList candidates = shortestPosting(postings.get(field), text);
+            if (candidates != null) {
+                verify(candidates, field, text, result);
+            }
+            verify(overflow.get(field), field, text, result);
+            return result;
+        }
+
+        /**
+         * 单字直接取 1-gram；否则取最短的 2-gram 倒排表，任一 2-gram 不存在时为 null
+         */
+        private static IntList shortestPosting(Map<String, IntList> fieldPostings, String text) {
+            if (text.length() == 1) {
+                return fieldPostings.get(text);
+            }
+            IntList shortest = null;
+            for (int i = 0; i + 2 <= text.length(); i++) {
+                IntList posting = fieldPostings.get(text.substring(i, i + 2));
+                if (posting == null) {
+                    return null;
+                }
+                if (shortest == null || posting.size < shortest.size) {
+                    shortest = posting;
+                }
+            }
+            return shortest;
+        }
+
+        private void verify(IntList ordinalList, Field field, String text, BitSet result) {
+            for (int i = 0; i < ordinalList.size; i++) {
+                int ordinal = ordinalList.values[i];
+                Doc doc = docs.get(ordinal);
+                if (doc != null && doc.text(field).contains(text)) {
+                    result.set(ordinal);
+                }
+            }
+        }
+
+        private static boolean accepts(Doc doc, User filter) {
+            return (filter.getId() == null || filter.getId() == doc.id())
+                    && (StrUtil.isEmpty(filter.getUserRole()) || filter.getUserRole().equals(doc.role()))
+                    && (filter.getIsDelete() == null || filter.getIsDelete().equals(doc.isDelete()));
+        }
+
+        /**
+         * 对前 maxChars 个字符切分为 1-gram 与 2-gram
+         */
+        private static Set<String> tokenize(String text, int maxChars) {
+            int length = Math.min(text.length(), maxChars);
+            Set<String> tokens = new HashSet<>();
+            for (int i = 0; i < length; i++) {
+                tokens.add(text.substring(i, i + 1));
+                if (i + 2 <= length) {
+                    tokens.add(text.substring(i, i + 2));
+                }
+            }
+            return tokens;
+        }
+    }
+
+    /**
+     * 只追加的 int 数组，存放升序的文档序号
+     */
+    private static final class IntList {
+
+        private int[] values = new int[2];
+
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * 索引字段
+     */
+    private enum Field {
+        ACCOUNT, NAME, PROFILE
+    }
+
+    /**
+     * 索引文档，文本字段已规范化
+     */
+    private record Doc(long id, String account, String name, String profile, String role, Integer isDelete) {
+
+        static Doc of(User user) {
+            return new Doc(user.getId(),
+                    Objects.requireNonNullElse(normalize(user.getUserAccount()), ""),
+                    Objects.requireNonNullElse(normalize(user.getUserName()), ""),
+                    Objects.requireNonNullElse(normalize(user.getUserProfile()), ""),
+                    user.getUserRole(),
+                    user.getIsDelete());
+        }
+
+        String text(Field field) {
+            return switch (field) {
+                case ACCOUNT -> account;
+                case NAME -> name;
+                case PROFILE -> profile;
+            };
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.yt.aicode.basic.service;
+
+import com.yt.aicode.dto.UserQueryDto;
+import com.yt.aicode.enums.DataFormatEnum;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 用户导出服务接口
+ *
+ * @author wys17
+ */
+public interface UserExportService {
+
+    /**
+     * 按筛选条件流式导出脱敏后的用户，逐行写出，内存占用与数据量无关
+     *
+     * @param userQueryDto 筛选条件，分页参数忽略
+     * @param format       CSV（含表头）或 NDJSON
+     * @param gzip         是否 gzip 压缩
+     * @param outputStream 输出流，写完后不关闭
+     * @return 导出行数
+     */
+    long exportUsers(UserQueryDto userQueryDto, DataFormatEnum format, boolean gzip, OutputStream outputStream) throws IOException;
+}
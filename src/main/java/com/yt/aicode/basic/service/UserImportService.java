@@ -0,0 +1,23 @@
+package com.yt.aicode.basic.service;
+
+import com.yt.aicode.enums.DataFormatEnum;
+import com.yt.aicode.vo.UserImportResultVo;
+
+import java.io.InputStream;
+
+/**
+ * 用户批量导入服务接口
+ *
+ * @author wys17
+ */
+public interface UserImportService {
+
+    /**
+     * 流式导入用户：逐行解析，按批分配id、并行哈希密码、批量写入，单行失败不影响其他行
+     *
+     * @param inputStream 请求体
+     * @param format      CSV（首行为表头）或 NDJSON（每行一个 JSON 对象）
+     * @return 导入结果与失败明细
+     */
+    UserImportResultVo importUsers(InputStream inputStream, DataFormatEnum format);
+}
@@ -1,11 +1,19 @@
 package com.yt.aicode.basic.service;
 
+import com.yt.aicode.basic.common.CursorPageResult;
+import com.yt.aicode.basic.common.LoginPrincipal;
 import com.yt.aicode.basic.common.PageResult;
 import com.yt.aicode.basic.entity.User;
 import com.yt.aicode.dto.UserLoginDto;
 import com.yt.aicode.dto.UserQueryDto;
+import com.yt.aicode.vo.CacheStatsVo;
+import com.yt.aicode.vo.PasswordHasherStatsVo;
 import com.yt.aicode.vo.UserVo;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 用户(User)表服务接口
@@ -31,17 +39,19 @@ public interface UserService {
      *
      * @param userLoginDto 用户登录请求
      * @param request      请求
+     * @param response     响应（TOKEN 模式下写入令牌）
      * @return 脱敏后的用户信息
      */
-     UserVo userLogin(UserLoginDto userLoginDto, HttpServletRequest request);
+     UserVo userLogin(UserLoginDto userLoginDto, HttpServletRequest request, HttpServletResponse response);
 
     /**
      * 用户注销
      *
-     * @param request 请求
+     * @param request  请求
+     * @param response 响应（TOKEN 模式下清除令牌 Cookie）
      * @return 注销结果
      */
-    boolean userLogout(HttpServletRequest request);
+    boolean userLogout(HttpServletRequest request, HttpServletResponse response);
 
     /**
      * 获取当前登录用户
@@ -51,6 +61,22 @@ public interface UserService {
      */
     User getLoginUser(HttpServletRequest request);
 
+    /**
+     * 获取当前登录身份（id + 角色），TOKEN 模式下无需访问会话和数据库
+     *
+     * @param request 登录请求
+     * @return 登录身份
+     */
+    LoginPrincipal getLoginPrincipal(HttpServletRequest request);
+
+    /**
+     * 获取当前登录身份，角色以用户当前数据为准（TOKEN 模式下不采信令牌中的角色，经用户缓存读取）
+     *
+     * @param request 登录请求
+     * @return 登录身份
+     */
+    LoginPrincipal getVerifiedLoginPrincipal(HttpServletRequest request);
+
     /**
      * 通过主键删除数据
      *
@@ -60,9 +86,49 @@ public interface UserService {
     User queryById(Long id);
 
     /**
-     * 分页查询
+     * 通过主键查询完整用户（含审计时间与删除标记，不含密码），不经过资料视图缓存，供管理端详情使用
+     *
+     * @param id 主键
+     * @return 用户，不存在时为 null
+     */
+    User queryDetailById(Long id);
+
+    /**
+     * 通过主键批量查询，按入参顺序返回，不存在的id跳过
+     *
+     * @param ids 主键集合
+     * @return 对象列表
+     */
+    List<User> queryByIds(Collection<Long> ids);
+
+    /**
+     * 用户缓存统计
+     *
+     * @return 命中/未命中/淘汰等统计
+     */
+    CacheStatsVo getUserCacheStats();
+
+    /**
+     * 密码哈希线程池统计
+     *
+     * @return 队列深度/拒绝数/平均耗时等统计
+     */
+    PasswordHasherStatsVo getPasswordHasherStats();
+
+    /**
+     * 分页查询，只读取脱敏后的列
+     */
+    PageResult<UserVo> queryByPage(UserQueryDto userQueryDto);
+
+    /**
+     * 搜索分页：账号、昵称、简介按子串匹配，keyword 匹配三者任一
+     */
+    PageResult<UserVo> searchByPage(UserQueryDto userQueryDto);
+
+    /**
+     * 游标分页查询，按创建时间倒序，只读取脱敏后的列
      */
-    PageResult<User> queryByPage(UserQueryDto userQueryDto);
+    CursorPageResult<UserVo> queryByCursor(UserQueryDto userQueryDto);
 
 
 
@@ -0,0 +1,100 @@
+package com.yt.aicode.basic.service.impl;
+
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.core.text.csv.CsvWriteConfig;
+import cn.hutool.core.text.csv.CsvWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.yt.aicode.basic.entity.User;
+import com.yt.aicode.basic.query.UserQueryRegistry;
+import com.yt.aicode.basic.service.UserExportService;
+import com.yt.aicode.convert.UserConvert;
+import com.yt.aicode.dto.UserQueryDto;
+import com.yt.aicode.enums.DataFormatEnum;
+import com.yt.aicode.vo.UserVo;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 用户导出服务实现类
+ * <p>
+ * 通过 ResultHandler 消费只进、逐行返回的结果集，每行直接编码写入响应流；
+ * 输出流写满时阻塞，数据库读取随之暂停，客户端断开时写入异常会终止查询。
+ *
+ * @author wys17
+ */
+@Slf4j
+@Observed(name = "user.service")
+@Service("userExportService")
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final DateTimeFormatter CSV_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] CSV_HEADER = {"id", "userAccount", "userName", "userAvatar", "userProfile", "userRole", "createTime"};
+
+    @Resource
+    private UserQueryRegistry userQueryRegistry;
+
+    private final ObjectWriter rowWriter;
+
+    public UserExportServiceImpl(ObjectMapper objectMapper) {
+        this.rowWriter = objectMapper.writerFor(UserVo.class);
+    }
+
+    @Override
+    public long exportUsers(UserQueryDto userQueryDto, DataFormatEnum format, boolean gzip, OutputStream outputStream) throws IOException {
+        User user = UserConvert.INSTANCE.queryDtoToY(userQueryDto);
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? gzipStream : outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long[] rows = {0L};
+        try {
+            switch (format) {
+                case CSV -> {
+                    CsvWriter csvWriter = new CsvWriter(writer, CsvWriteConfig.defaultConfig());
+                    csvWriter.writeHeaderLine(CSV_HEADER);
+                    userQueryRegistry.stream(user, context -> {
+                        UserVo userVo = context.getResultObject();
+                        csvWriter.writeLine(String.valueOf(userVo.getId()), userVo.getUserAccount(), userVo.getUserName(),
+                                userVo.getUserAvatar(), userVo.getUserProfile(), userVo.getUserRole(),
+                                userVo.getCreateTime() == null ? null : CSV_TIME_FORMATTER.format(userVo.getCreateTime()));
+                        rows[0]++;
+                    });
+                    csvWriter.flush();
+                }
+                case NDJSON -> userQueryRegistry.stream(user, context -> {
+                    try {
+                        writer.write(rowWriter.writeValueAsString(context.getResultObject()));
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rows[0]++;
+                });
+            }
+            writer.flush();
+            if (gzipStream != null) {
+                gzipStream.finish();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (IORuntimeException e) {
+            throw e.getCause() instanceof IOException ioException ? ioException : new IOException(e);
+        }
+        log.info("Exported {} users as {}{}", rows[0], format, gzip ? " (gzip)" : "");
+        return rows[0];
+    }
+}
@@ -0,0 +1,324 @@
+package com.yt.aicode.basic.service.impl;
+
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.core.text.csv.CsvReadConfig;
+import cn.hutool.core.text.csv.CsvReader;
+import cn.hutool.core.text.csv.CsvRow;
+import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.yt.aicode.basic.common.SnowflakeIdGenerator;
+import com.yt.aicode.basic.common.UserConstant;
+import com.yt.aicode.basic.dao.UserDao;
+import com.yt.aicode.basic.filter.AccountBloomFilter;
+import com.yt.aicode.basic.entity.User;
+import com.yt.aicode.basic.password.PasswordService;
+import com.yt.aicode.basic.search.UserSearchIndex;
+import com.yt.aicode.basic.service.UserImportService;
+import com.yt.aicode.config.UserImportProperties;
+import com.yt.aicode.dto.UserImportDto;
+import com.yt.aicode.enums.DataFormatEnum;
+import com.yt.aicode.enums.UserRoleEnum;
+import com.yt.aicode.exception.BusinessException;
+import com.yt.aicode.exception.ErrorCode;
+import com.yt.aicode.vo.UserImportErrorVo;
+import com.yt.aicode.vo.UserImportResultVo;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 用户批量导入服务实现类
+ * <p>
+ * 请求体按行流式解析，不整体缓冲；有效行攒满一批后：一次查询过滤已存在账号、
+ * 一次性预留整批id、在密码线程池中并行哈希、一条 insertBatch 写入并提交。
+ * 整批写入失败（如并发注册导致唯一键冲突）时退化为逐行写入以定位失败行。
+ *
+ * @author wys17
+ */
+@Slf4j
+@Observed(name = "user.service")
+@Service("userImportService")
+public class UserImportServiceImpl implements UserImportService {
+
+    @Resource
+    private UserDao userDao;
+
+    @Resource
+    private SnowflakeIdGenerator snowflakeIdGenerator;
+
+    @Resource
+    private PasswordService passwordService;
+
+    @Resource
+    private UserSearchIndex userSearchIndex;
+
+    @Resource
+    private AccountBloomFilter accountBloomFilter;
+
+    @Resource
+    private UserImportProperties userImportProperties;
+
+    private final ObjectReader rowReader;
+
+    public UserImportServiceImpl(ObjectMapper objectMapper) {
+        this.rowReader = objectMapper.readerFor(UserImportDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public UserImportResultVo importUsers(InputStream inputStream, DataFormatEnum format) {
+        ImportSession session = new ImportSession();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        try {
+            switch (format) {
+                case CSV -> readCsv(reader, session);
+                case NDJSON -> readNdjson(reader, session);
+            }
+        } catch (UncheckedIOException | IORuntimeException e) {
+            // 读取中断时已写入的批次保留，未满一批的行仍然写入
+            log.warn("User import stream interrupted after {} rows: {}", session.result.getTotal(), e.getMessage());
+            session.flush();
+            throw new BusinessException(ErrorCode.OPERATION_ERROR, "导入数据读取中断，已处理 " + session.result.getTotal() + " 行");
+        }
+        session.flush();
+        return session.result;
+    }
+
+    private void readCsv(BufferedReader reader, ImportSession session) {
+        CsvReadConfig config = CsvReadConfig.defaultConfig()
+                .setContainsHeader(true)
+                .setSkipEmptyRows(true)
+                .setTrimField(true);
+        new CsvReader(config).read(reader, (CsvRow row) -> {
+            UserImportDto dto = new UserImportDto();
+            dto.setUserAccount(row.getByName("userAccount"));
+            dto.setUserPassword(row.getByName("userPassword"));
+            dto.setUserName(row.getByName("userName"));
+            dto.setUserAvatar(row.getByName("userAvatar"));
+            dto.setUserProfile(row.getByName("userProfile"));
+            dto.setUserRole(row.getByName("userRole"));
+            session.accept(dto);
+        });
+    }
+
+    private void readNdjson(BufferedReader reader, ImportSession session) {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StrUtil.isBlank(line)) {
+                    continue;
+                }
+                UserImportDto dto;
+                try {
+                    dto = rowReader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    session.reject(session.nextRow(), null, "JSON 格式错误");
+                    continue;
+                }
+                session.accept(dto);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 单次导入的状态：当前批次与累计结果
+     */
+    private class ImportSession {
+
+        private final UserImportResultVo result = new UserImportResultVo();
+
+        private final List<PendingRow> chunk = new ArrayList<>(userImportProperties.getChunkSize());
+
+        /**
+         * 默认密码的哈希值，整次导入共用一次哈希
+         */
+        private String defaultPasswordHash;
+
+        private long nextRow() {
+            result.setTotal(result.getTotal() + 1);
+            return result.getTotal();
+        }
+
+        private void accept(UserImportDto dto) {
+            long row = nextRow();
+            String message = validate(dto);
+            if (message != null) {
+                reject(row, dto.getUserAccount(), message);
+                return;
+            }
+            chunk.add(new PendingRow(row, dto));
+            if (chunk.size() >= userImportProperties.getChunkSize()) {
+                flush();
+            }
+        }
+
+        private void reject(long row, String userAccount, String message) {
+            result.setFailedCount(result.getFailedCount() + 1);
+            if (result.getErrors().size() < userImportProperties.getMaxReportedErrors()) {
+                result.getErrors().add(new UserImportErrorVo(row, userAccount, message));
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+
+        /**
+         * 写入当前批次
+         */
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<PendingRow> rows = dedupe();
+            chunk.clear();
+            if (rows.isEmpty()) {
+                return;
+            }
+            List<User> users;
+            try {
+                users = toUsers(rows);
+            } catch (BusinessException e) {
+                // 密码线程池繁忙：本批全部失败，继续处理后续数据
+                rows.forEach(pending -> reject(pending.row(), pending.dto().getUserAccount(), e.getMessage()));
+                return;
+            }
+            try {
+                userDao.insertBatch(users);
+                users.forEach(userSearchIndex::put);
+                users.forEach(inserted -> accountBloomFilter.put(inserted.getUserAccount()));
+                result.setSuccessCount(result.getSuccessCount() + users.size());
+            } catch (DataAccessException e) {
+                log.warn("User import batch insert failed, falling back to row by row: {}", e.getMessage());
+                insertOneByOne(rows, users);
+            }
+        }
+
+        /**
+         * 过滤批内重复账号与数据库中已存在的账号
+         */
+        private List<PendingRow> dedupe() {
+            Set<String> accounts = new HashSet<>();
+            List<PendingRow> unique = new ArrayList<>(chunk.size());
+            for (PendingRow pending : chunk) {
+                if (accounts.add(pending.dto().getUserAccount())) {
+                    unique.add(pending);
+                } else {
+                    reject(pending.row(), pending.dto().getUserAccount(), "账号重复");
+                }
+            }
+            // 过滤器判定一定不存在的账号不参与查询；全部一定不存在时省去这次查询
+            List<String> candidates = accounts.stream().filter(accountBloomFilter::mightContain).toList();
+            Set<String> existing = candidates.isEmpty() ? Set.of()
+                    : new HashSet<>(userDao.queryExistingAccounts(candidates));
+            if (existing.isEmpty()) {
+                return unique;
+            }
+            List<PendingRow> rows = new ArrayList<>(unique.size());
+            for (PendingRow pending : unique) {
+                if (existing.contains(pending.dto().getUserAccount())) {
+                    reject(pending.row(), pending.dto().getUserAccount(), "用户已存在");
+                } else {
+                    rows.add(pending);
+                }
+            }
+            return rows;
+        }
+
+        /**
+         * 整批预留id并并行哈希密码
+         */
+        private List<User> toUsers(List<PendingRow> rows) {
+            List<String> rawPasswords = new ArrayList<>();
+            for (PendingRow pending : rows) {
+                if (StrUtil.isNotEmpty(pending.dto().getUserPassword())) {
+                    rawPasswords.add(pending.dto().getUserPassword());
+                }
+            }
+            List<String> hashes = passwordService.hashAll(rawPasswords);
+            if (defaultPasswordHash == null && rawPasswords.size() < rows.size()) {
+                defaultPasswordHash = passwordService.hash(UserConstant.DEFAULT_PASSWORD);
+            }
+            long[] ids = snowflakeIdGenerator.generateIds(rows.size());
+            LocalDateTime now = LocalDateTime.now();
+            List<User> users = new ArrayList<>(rows.size());
+            int hashIndex = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                UserImportDto dto = rows.get(i).dto();
+                User user = new User();
+                user.setId(ids[i]);
+                user.setUserAccount(dto.getUserAccount());
+                user.setUserPassword(StrUtil.isNotEmpty(dto.getUserPassword()) ? hashes.get(hashIndex++) : defaultPasswordHash);
+                user.setUserName(dto.getUserName());
+                user.setUserAvatar(dto.getUserAvatar());
+                user.setUserProfile(dto.getUserProfile());
+                user.setUserRole(StrUtil.isEmpty(dto.getUserRole()) ? UserRoleEnum.USER.getValue() : dto.getUserRole());
+                user.setEditTime(now);
+                user.setCreateTime(now);
+                user.setUpdateTime(now);
+                user.setIsDelete(1);
+                users.add(user);
+            }
+            return users;
+        }
+
+        private void insertOneByOne(List<PendingRow> rows, List<User> users) {
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                try {
+                    userDao.insert(user);
+                    userSearchIndex.put(user);
+                    accountBloomFilter.put(user.getUserAccount());
+                    result.setSuccessCount(result.getSuccessCount() + 1);
+                } catch (DataAccessException e) {
+                    reject(rows.get(i).row(), user.getUserAccount(), "用户已存在或数据库错误");
+                }
+            }
+        }
+    }
+
+    /**
+     * 校验单行数据，返回失败原因，通过时为 null
+     */
+    private static String validate(UserImportDto dto) {
+        if (StrUtil.isBlank(dto.getUserAccount())) {
+            return "账号不能为空";
+        }
+        if (dto.getUserAccount().length() < 4) {
+            return "用户账号过短";
+        }
+        if (StrUtil.isNotEmpty(dto.getUserPassword()) && dto.getUserPassword().length() < 8) {
+            return "用户密码过短";
+        }
+        if (StrUtil.isNotEmpty(dto.getUserRole()) && UserRoleEnum.getEnumByValue(dto.getUserRole()) == null) {
+            return "用户角色无效";
+        }
+        return null;
+    }
+
+    /**
+     * 待写入的行
+     *
+     * @param row 数据行号
+     * @param dto 行数据
+     */
+    private record PendingRow(long row, UserImportDto dto) {
+    }
+}
@@ -1,26 +1,62 @@
 package com.yt.aicode.basic.service.impl;
 
+import cn.hutool.core.util.IdUtil;
 import cn.hutool.core.util.StrUtil;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.yt.aicode.basic.cache.UserCache;
+import com.yt.aicode.basic.common.CursorPageResult;
+import com.yt.aicode.basic.common.LoginPrincipal;
+import com.yt.aicode.basic.common.LoginTokenCodec;
+import com.yt.aicode.basic.common.PageCursor;
 import com.yt.aicode.basic.common.PageResult;
+import com.yt.aicode.basic.count.UserCounter;
 import com.yt.aicode.basic.dao.UserDao;
+import com.yt.aicode.basic.filter.AccountBloomFilter;
 import com.yt.aicode.basic.entity.User;
+import com.yt.aicode.basic.password.PasswordService;
+import com.yt.aicode.basic.query.ParallelPageExecutor;
+import com.yt.aicode.basic.query.UserQueryRegistry;
+import com.yt.aicode.basic.search.UserSearchIndex;
 import com.yt.aicode.basic.service.UserService;
+import com.yt.aicode.basic.session.SessionStore;
+import com.yt.aicode.config.AuthProperties;
+import com.yt.aicode.config.PageProperties;
+import com.yt.aicode.config.UserSearchProperties;
 import com.yt.aicode.convert.UserConvert;
 import com.yt.aicode.dto.UserLoginDto;
 import com.yt.aicode.dto.UserQueryDto;
+import com.yt.aicode.enums.CountModeEnum;
 import com.yt.aicode.enums.UserRoleEnum;
 import com.yt.aicode.exception.BusinessException;
 import com.yt.aicode.exception.ErrorCode;
 import com.yt.aicode.basic.common.SnowflakeIdGenerator;
+import com.yt.aicode.vo.CacheStatsVo;
+import com.yt.aicode.vo.PasswordHasherStatsVo;
 import com.yt.aicode.vo.UserVo;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.ResponseCookie;
 import org.springframework.stereotype.Service;
-import org.springframework.util.DigestUtils;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
+import static com.yt.aicode.basic.common.UserConstant.LOGIN_PRINCIPAL_ATTRIBUTE;
+import static com.yt.aicode.basic.common.UserConstant.LOGIN_USER_ATTRIBUTE;
 import static com.yt.aicode.basic.common.UserConstant.USER_LOGIN_STATE;
 
 /**
@@ -29,10 +65,22 @@ import static com.yt.aicode.basic.common.UserConstant.USER_LOGIN_STATE;
  * @author makejava
  * @since 2025-09-22 11:15:44
  */
+@Slf4j
+@Observed(name = "user.service")
 @Service("userService")
 public class UserServiceImpl implements UserService {
 
-    final String SALT = "ai-code";
+    final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * 账号唯一索引名，用于区分账号冲突与主键冲突
+     */
+    private static final String ACCOUNT_UNIQUE_KEY = "uk_user_account";
+
+    /**
+     * 主键冲突时的最大插入次数
+     */
+    private static final int MAX_INSERT_ATTEMPTS = 3;
 
     @Resource
     private UserDao userDao;
@@ -40,6 +88,43 @@ public class UserServiceImpl implements UserService {
     @Resource
     private SnowflakeIdGenerator snowflakeIdGenerator;
 
+    @Resource
+    private UserCache userCache;
+
+    @Resource
+    private AuthProperties authProperties;
+
+    @Resource
+    private LoginTokenCodec loginTokenCodec;
+
+    @Lazy
+    @Resource
+    private SessionStore sessionStore;
+
+    @Resource
+    private PasswordService passwordService;
+
+    @Resource
+    private UserCounter userCounter;
+
+    @Resource
+    private UserQueryRegistry userQueryRegistry;
+
+    @Resource
+    private UserSearchIndex userSearchIndex;
+
+    @Resource
+    private UserSearchProperties userSearchProperties;
+
+    @Resource
+    private PageProperties pageProperties;
+
+    @Resource
+    private AccountBloomFilter accountBloomFilter;
+
+    @Resource
+    private ParallelPageExecutor parallelPageExecutor;
+
     @Override
     public long userRegister(String userAccount, String userPassword, String checkPassword) {
         // 1. 校验
@@ -55,32 +140,28 @@ public class UserServiceImpl implements UserService {
         if (!userPassword.equals(checkPassword)) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "两次输入的密码不一致");
         }
-        // 2. 检查是否重复
         User user = new User();
         user.setUserAccount(userAccount);
-        long count = userDao.count(user);
-        if (count > 0) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户已存在");
-        }
-        // 3. 加密
-        String encryptPassword = DigestUtils.md5DigestAsHex((SALT + userPassword).getBytes());
+        // 2. 加密
+        String encryptPassword = passwordService.hash(userPassword);
         user.setUserPassword(encryptPassword);
-        // 4. 生成雪花算法ID
+        // 3. 生成雪花算法ID
         Long userId = snowflakeIdGenerator.generateId();
         user.setId(userId);
-        // 5. 插入数据
+        // 4. 插入数据，账号重复由唯一索引判定，不再预先查询
         user.setUserName("null");
         user.setUserRole(UserRoleEnum.USER.getValue());
         user.setIsDelete(1);
-        boolean saveResult = userDao.insert(user)>0;
+        boolean saveResult = insertNewUser(user);
         if (!saveResult) {
             throw new BusinessException(ErrorCode.SYSTEM_ERROR, "注册失败，数据库错误");
         }
+        userSearchIndex.put(user);
         return user.getId();
     }
 
     @Override
-    public UserVo userLogin(UserLoginDto userLoginDto, HttpServletRequest request) {
+    public UserVo userLogin(UserLoginDto userLoginDto, HttpServletRequest request, HttpServletResponse response) {
         User user = UserConvert.INSTANCE.loginToY(userLoginDto);
         //1.校验参数
         if(StrUtil.hasBlank(user.getUserAccount(),user.getUserPassword()))
@@ -89,45 +170,271 @@ public class UserServiceImpl implements UserService {
             throw new BusinessException(ErrorCode.PARAMS_ERROR,"用户名过短");
         if (user.getUserPassword().length() < 8 )
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户密码过短");
-        //2.加密
-        user.setUserPassword(DigestUtils.md5DigestAsHex((SALT + user.getUserPassword()).getBytes()));
-        //查看用户是否存在
-        long count = userDao.count(user);
-        if (count == 0)
+        //2.过滤器判定一定不存在：仅在配置为可信时直接拒绝，否则仍查库确认，避免其他节点新注册的账号被拒
+        boolean definiteMiss = !accountBloomFilter.mightContain(user.getUserAccount());
+        if (definiteMiss && accountBloomFilter.isTrustNegative()) {
+            // 账号不存在时同样完成一次密码校验，响应耗时不暴露账号是否存在
+            passwordService.verifyDummy(user.getUserPassword());
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户不存在");
+        }
+        //3.按账号单次查询，密码在应用层以常量时间比对
+        User u = userDao.queryLoginByAccount(user.getUserAccount(), user.getIsDelete());
+        if (definiteMiss && u != null)
+            accountBloomFilter.recordStaleMiss(u.getUserAccount());
+        if (u == null) {
+            passwordService.verifyDummy(user.getUserPassword());
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户不存在");
+        }
+        PasswordService.VerifyResult verifyResult = passwordService.verify(user.getUserPassword(), u.getUserPassword());
+        if (!verifyResult.matches())
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户不存在");
-        User u = userDao.query(user);
+        //4.历史格式或参数过弱的密码按当前算法重新哈希
+        if (verifyResult.needsRehash())
+            rehashPassword(u.getId(), user.getUserPassword());
         //如果用户存在记录用户状态
-        request.getSession().setAttribute(USER_LOGIN_STATE,u);
+        LoginPrincipal principal = new LoginPrincipal(u.getId(), u.getUserRole());
+        switch (authProperties.getMode()) {
+            case TOKEN -> {
+                String token = loginTokenCodec.encode(principal);
+                writeCookie(response, authProperties.getTokenCookieName(), token, Duration.ofSeconds(loginTokenCodec.getTtlSeconds()));
+                response.setHeader(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + token);
+            }
+            case STORE -> {
+                // 会话ID是 STORE 模式唯一的凭证，必须来自 SecureRandom（fastSimpleUUID 基于 ThreadLocalRandom，可被预测）
+                String sessionId = IdUtil.simpleUUID();
+                Duration ttl = Duration.ofSeconds(authProperties.getSessionTtlSeconds());
+                sessionStore.save(sessionId, principal, ttl);
+                // 与 JSESSIONID 一致写会话 Cookie（不设 Max-Age），空闲超时由会话存储在每次读取时续期
+                writeCookie(response, authProperties.getSessionCookieName(), sessionId, Duration.ofSeconds(-1));
+            }
+            // 会话中只保存最小登录身份，不保存完整用户实体
+            case SESSION -> request.getSession().setAttribute(USER_LOGIN_STATE, principal);
+        }
         return UserConvert.INSTANCE.yToVo(u);
     }
 
     @Override
-    public boolean userLogout(HttpServletRequest request) {
+    public boolean userLogout(HttpServletRequest request, HttpServletResponse response) {
         // 先判断是否已登录
-        Object userObj = request.getSession().getAttribute(USER_LOGIN_STATE);
-        if (userObj == null) {
-            throw new BusinessException(ErrorCode.OPERATION_ERROR, "未登录");
+        switch (authProperties.getMode()) {
+            case TOKEN -> {
+                if (loginTokenCodec.decode(extractToken(request)) == null) {
+                    throw new BusinessException(ErrorCode.OPERATION_ERROR, "未登录");
+                }
+                // 无状态令牌无法服务端吊销，清除 Cookie 后由过期时间兜底
+                writeCookie(response, authProperties.getTokenCookieName(), "", Duration.ZERO);
+            }
+            case STORE -> {
+                String sessionId = extractCookie(request, authProperties.getSessionCookieName());
+                if (sessionId == null || sessionStore.get(sessionId) == null) {
+                    throw new BusinessException(ErrorCode.OPERATION_ERROR, "未登录");
+                }
+                // 从会话存储中移除登录态
+                sessionStore.remove(sessionId);
+                writeCookie(response, authProperties.getSessionCookieName(), "", Duration.ZERO);
+            }
+            case SESSION -> {
+                HttpSession session = request.getSession(false);
+                if (session == null || session.getAttribute(USER_LOGIN_STATE) == null) {
+                    throw new BusinessException(ErrorCode.OPERATION_ERROR, "未登录");
+                }
+                // 移除登录态
+                session.removeAttribute(USER_LOGIN_STATE);
+            }
         }
-        // 移除登录态
-        request.getSession().removeAttribute(USER_LOGIN_STATE);
+        request.removeAttribute(LOGIN_USER_ATTRIBUTE);
+        request.removeAttribute(LOGIN_PRINCIPAL_ATTRIBUTE);
         return true;
     }
 
     @Override
     public User getLoginUser(HttpServletRequest request) {
-        User user= (User) request.getSession().getAttribute(USER_LOGIN_STATE);
-        if(user==null || user.getId() == null)
+        // 同一请求内已解析过则直接复用（切面、控制器、服务共享）
+        Object resolved = request.getAttribute(LOGIN_USER_ATTRIBUTE);
+        if (resolved instanceof User resolvedUser) {
+            return resolvedUser;
+        }
+        Long userId = switch (authProperties.getMode()) {
+            case TOKEN -> getLoginPrincipal(request).id();
+            case STORE -> {
+                String sessionId = extractCookie(request, authProperties.getSessionCookieName());
+                LoginPrincipal principal = sessionId == null ? null : sessionStore.get(sessionId);
+                yield principal == null ? null : principal.id();
+            }
+            case SESSION -> {
+                HttpSession session = request.getSession(false);
+                Object state = session == null ? null : session.getAttribute(USER_LOGIN_STATE);
+                // 兼容升级前会话中保存的完整用户实体
+                if (state instanceof LoginPrincipal principal) {
+                    yield principal.id();
+                }
+                yield state instanceof User user ? user.getId() : null;
+            }
+        };
+        if (userId == null)
             throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR,"用户未登录");
-        //从数据库中查询
-        User newUser = userDao.queryById(user.getId());
+        //从缓存/数据库中查询
+        User newUser = userCache.getById(userId);
         if(newUser==null || newUser.getId() == null)
-            throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR);
+            throw BusinessException.of(ErrorCode.NOT_LOGIN_ERROR);
+        request.setAttribute(LOGIN_USER_ATTRIBUTE, newUser);
         return newUser;
     }
 
+    @Override
+    public LoginPrincipal getLoginPrincipal(HttpServletRequest request) {
+        Object resolved = request.getAttribute(LOGIN_PRINCIPAL_ATTRIBUTE);
+        if (resolved instanceof LoginPrincipal principal) {
+            return principal;
+        }
+        LoginPrincipal principal;
+        if (authProperties.getMode() == AuthProperties.AuthMode.TOKEN) {
+            // 只校验签名与过期时间，不访问会话和数据库
+            principal = loginTokenCodec.decode(extractToken(request));
+            if (principal == null || principal.id() == null)
+                throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR, "用户未登录");
+        } else {
+            User loginUser = getLoginUser(request);
+            principal = new LoginPrincipal(loginUser.getId(), loginUser.getUserRole());
+        }
+        request.setAttribute(LOGIN_PRINCIPAL_ATTRIBUTE, principal);
+        return principal;
+    }
+
+    @Override
+    public LoginPrincipal getVerifiedLoginPrincipal(HttpServletRequest request) {
+        if (authProperties.getMode() != AuthProperties.AuthMode.TOKEN) {
+            // 会话模式下的身份本身就按当前用户数据构造
+            return getLoginPrincipal(request);
+        }
+        // 令牌有效期内角色可能已被修改，按用户缓存中的当前角色判定
+        User loginUser = getLoginUser(request);
+        return new LoginPrincipal(loginUser.getId(), loginUser.getUserRole());
+    }
+
+    /**
+     * 插入新用户：账号冲突由唯一索引 uk_user_account 原子判定并转为"用户已存在"；
+     * 主键冲突（HASH 模式下的ID碰撞）换一个ID重试
+     *
+     * @param user 新用户，已设置ID
+     * @return 是否插入成功
+     */
+    private boolean insertNewUser(User user) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                boolean inserted = userDao.insert(user) > 0;
+                if (inserted) {
+                    accountBloomFilter.put(user.getUserAccount());
+                }
+                return inserted;
+            } catch (DuplicateKeyException e) {
+                String message = String.valueOf(e.getMostSpecificCause().getMessage());
+                if (StrUtil.containsIgnoreCase(message, ACCOUNT_UNIQUE_KEY)) {
+                    throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户已存在");
+                }
+                if (!StrUtil.containsIgnoreCase(message, "PRIMARY") || attempt >= MAX_INSERT_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("User id {} collided, retrying with a new id", user.getId());
+                user.setId(snowflakeIdGenerator.generateId());
+            }
+        }
+    }
+
+    /**
+     * 登录成功后迁移密码哈希，失败不影响本次登录
+     */
+    private void rehashPassword(Long userId, String rawPassword) {
+        try {
+            User user = new User();
+            user.setId(userId);
+            user.setIsDelete(null);
+            user.setUserPassword(passwordService.hash(rawPassword));
+            userDao.update(user);
+            userCache.invalidate(userId);
+        } catch (BusinessException e) {
+            log.warn("Password rehash skipped for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 从 Authorization: Bearer 头或 Cookie 中取出令牌
+     */
+    private String extractToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return header.substring(BEARER_PREFIX.length());
+        }
+        return extractCookie(request, authProperties.getTokenCookieName());
+    }
+
+    private String extractCookie(HttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (name.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void writeCookie(HttpServletResponse response, String name, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(name, value)
+                .httpOnly(true)
+                .path("/")
+                .sameSite("Lax")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
     @Override
     public User queryById(Long id) {
-        return userDao.queryById(id);
+        return userCache.getById(id);
+    }
+
+    @Override
+    public User queryDetailById(Long id) {
+        User user = userDao.queryById(id);
+        if (user != null) {
+            user.setUserPassword(null);
+        }
+        return user;
+    }
+
+    @Override
+    public List<User> queryByIds(Collection<Long> ids) {
+        Map<Long, User> userMap = userCache.getByIds(new LinkedHashSet<>(ids));
+        // 按入参顺序返回，跳过不存在的id
+        List<User> users = new ArrayList<>(userMap.size());
+        for (Long id : new LinkedHashSet<>(ids)) {
+            User user = userMap.get(id);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    @Override
+    public PasswordHasherStatsVo getPasswordHasherStats() {
+        return passwordService.stats();
+    }
+
+    @Override
+    public CacheStatsVo getUserCacheStats() {
+        CacheStats stats = userCache.stats();
+        CacheStatsVo cacheStatsVo = new CacheStatsVo();
+        cacheStatsVo.setSize(userCache.size());
+        cacheStatsVo.setHitCount(stats.hitCount());
+        cacheStatsVo.setMissCount(stats.missCount());
+        cacheStatsVo.setHitRate(stats.hitRate());
+        cacheStatsVo.setEvictionCount(stats.evictionCount());
+        cacheStatsVo.setLoadCount(stats.loadCount());
+        cacheStatsVo.setAverageLoadPenalty(stats.averageLoadPenalty());
+        return cacheStatsVo;
     }
 
 
@@ -135,32 +442,138 @@ public class UserServiceImpl implements UserService {
      * 分页查询
      */
     @Override
-    public PageResult<User> queryByPage(UserQueryDto userQueryDto) {
-        PageResult<User> pageResult = new PageResult<>();
+    public PageResult<UserVo> queryByPage(UserQueryDto userQueryDto) {
+        PageResult<UserVo> pageResult = new PageResult<>();
         pageResult.setPageNo(userQueryDto.getPageNo());
         pageResult.setPageSize(userQueryDto.getPageSize());
         User user = UserConvert.INSTANCE.queryDtoToY(userQueryDto);
-        long total = this.userDao.count(user);
-        if (total == 0) {
+        int pageSize = userQueryDto.getPageSize();
+        int offset = (userQueryDto.getPageNo() - 1) * pageSize;
+        CountModeEnum countMode = userQueryDto.getCountMode() != null
+                ? userQueryDto.getCountMode() : pageProperties.getCountMode();
+        if (countMode == CountModeEnum.HAS_NEXT) {
+            // 不统计总数：多取一条判断是否有下一页，总数只保证能翻到下一页
+            List<UserVo> records = this.userQueryRegistry.page(user, offset, pageSize + 1);
+            boolean hasNext = records.size() > pageSize;
+            if (hasNext) {
+                records = records.subList(0, pageSize);
+            }
+            pageResult.setRecords(records);
+            pageResult.setTotal((long) offset + records.size() + (hasNext ? 1 : 0));
+            pageResult.setTotalExact(!hasNext && (offset == 0 || !records.isEmpty()));
+            return pageResult;
+        }
+        // 总数与本页并发查询，连接池紧张时退回顺序执行
+        ParallelPageExecutor.Joined<UserCounter.CountResult, List<UserVo>> joined = parallelPageExecutor.tryRun(
+                () -> userCounter.count(user, countMode),
+                () -> this.userQueryRegistry.page(user, offset, pageSize));
+        if (joined != null) {
+            pageResult.setTotalExact(joined.count().exact());
+            pageResult.setRecords(joined.records());
+            pageResult.setTotal(joined.count().total());
+            return pageResult;
+        }
+        UserCounter.CountResult countResult = userCounter.count(user, countMode);
+        pageResult.setTotalExact(countResult.exact());
+        if (countResult.total() == 0) {
             pageResult.setTotal(0L);
             pageResult.setRecords(Collections.emptyList());
             return pageResult;
         }
+        List<UserVo> records = this.userQueryRegistry.page(user, offset, pageSize);
+        pageResult.setRecords(records);
+        pageResult.setTotal(countResult.total());
+        return pageResult;
+    }
+
+    /**
+     * 搜索分页：倒排索引给出候选id，当前页一次批量回填
+     */
+    @Override
+    public PageResult<UserVo> searchByPage(UserQueryDto userQueryDto) {
+        PageResult<UserVo> pageResult = new PageResult<>();
+        pageResult.setPageNo(userQueryDto.getPageNo());
+        pageResult.setPageSize(userQueryDto.getPageSize());
+        User user = UserConvert.INSTANCE.queryDtoToY(userQueryDto);
+        // 未启用或启动后首次构建尚未完成时在数据库中按相同语义做子串匹配，总数有上限
+        if (!userSearchProperties.isEnabled() || !userSearchIndex.isReady()) {
+            int offset = (userQueryDto.getPageNo() - 1) * userQueryDto.getPageSize();
+            pageResult.setTotal(userQueryRegistry.searchCount(user, userQueryDto.getKeyword(), userSearchProperties.getFallbackMaxCount()));
+            if (offset < pageResult.getTotal()) {
+                pageResult.setRecords(userQueryRegistry.searchPage(user, userQueryDto.getKeyword(), offset, userQueryDto.getPageSize()));
+            }
+            return pageResult;
+        }
+        List<Long> ids = userSearchIndex.search(user, userQueryDto.getKeyword());
+        pageResult.setTotal((long) ids.size());
         int offset = (userQueryDto.getPageNo() - 1) * userQueryDto.getPageSize();
-        List<User> records = this.userDao.queryAllByLimit(user, offset, userQueryDto.getPageSize());
+        if (offset >= ids.size()) {
+            return pageResult;
+        }
+        List<Long> pageIds = ids.subList(offset, Math.min(offset + userQueryDto.getPageSize(), ids.size()));
+        Map<Long, UserVo> userVoMap = new HashMap<>();
+        for (UserVo userVo : this.userDao.queryVoByIds(pageIds)) {
+            userVoMap.put(userVo.getId(), userVo);
+        }
+        // 按索引顺序返回，跳过索引与数据库之间短暂不一致的id
+        List<UserVo> records = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            UserVo userVo = userVoMap.get(id);
+            if (userVo != null) {
+                records.add(userVo);
+            }
+        }
+        pageResult.setRecords(records);
+        return pageResult;
+    }
+
+    /**
+     * 游标分页查询
+     */
+    @Override
+    public CursorPageResult<UserVo> queryByCursor(UserQueryDto userQueryDto) {
+        int pageSize = userQueryDto.getPageSize();
+        User user = UserConvert.INSTANCE.queryDtoToY(userQueryDto);
+        PageCursor cursor = StrUtil.isBlank(userQueryDto.getCursor()) ? null : PageCursor.decode(userQueryDto.getCursor());
+        // 多取一条用于判断是否还有下一页
+        List<UserVo> records = this.userQueryRegistry.cursor(user,
+                cursor == null ? null : cursor.createTime(),
+                cursor == null ? null : cursor.id(),
+                pageSize + 1);
+        CursorPageResult<UserVo> pageResult = new CursorPageResult<>();
+        pageResult.setPageSize(pageSize);
+        if (records.size() > pageSize) {
+            records = records.subList(0, pageSize);
+            UserVo last = records.get(pageSize - 1);
+            pageResult.setHasNext(true);
+            pageResult.setNextCursor(new PageCursor(last.getCreateTime(), last.getId()).encode());
+        }
         pageResult.setRecords(records);
-        pageResult.setTotal(total);
         return pageResult;
     }
 
     @Override
     public Boolean update(User user) {
-      return this.userDao.update(user)>0;
+        boolean result = this.userDao.update(user) > 0;
+        userCache.invalidate(user.getId());
+        if (result) {
+            userSearchIndex.refresh(user.getId());
+            // 修改后的账号同样要能通过过滤器
+            if (StrUtil.isNotEmpty(user.getUserAccount())) {
+                accountBloomFilter.put(user.getUserAccount());
+            }
+        }
+        return result;
     }
     
     @Override
     public Boolean insert(User user) {
-        return this.userDao.insert(user)>0;
+        boolean result = insertNewUser(user);
+        userCache.invalidate(user.getId());
+        if (result) {
+            userSearchIndex.put(user);
+        }
+        return result;
     }
 
     @Override
@@ -168,6 +581,11 @@ public class UserServiceImpl implements UserService {
         User user = new User();
         user.setId(id);
         user.setIsDelete(1);
-        return this.userDao.update(user)>0;
+        boolean result = this.userDao.update(user) > 0;
+        userCache.invalidate(id);
+        if (result) {
+            userSearchIndex.remove(id);
+        }
+        return result;
     }
 }
@@ -0,0 +1,60 @@
+package com.yt.aicode.basic.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.yt.aicode.basic.common.LoginPrincipal;
+
+import java.time.Duration;
+
+/**
+ * 进程内会话存储，仅适合单机或开发环境；重启后会话丢失
+ *
+ * @author wys17
+ */
+public class InMemorySessionStore implements SessionStore {
+
+    private final Cache<String, Entry> cache;
+
+    public InMemorySessionStore(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry value, long currentTime) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+                        // 滑动过期：每次读取重新计算空闲超时
+                        return value.ttlNanos();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public void save(String sessionId, LoginPrincipal principal, Duration ttl) {
+        cache.put(sessionId, new Entry(principal, ttl.toNanos()));
+    }
+
+    @Override
+    public LoginPrincipal get(String sessionId) {
+        Entry entry = cache.getIfPresent(sessionId);
+        return entry == null ? null : entry.principal();
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        cache.invalidate(sessionId);
+    }
+
+    private record Entry(LoginPrincipal principal, long ttlNanos) {
+    }
+}
@@ -0,0 +1,340 @@
+package com.yt.aicode.basic.session;
+
+import com.yt.aicode.basic.common.LoginPrincipal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 基于内存映射文件的会话存储：会话数据位于堆外，进程重启后仍然有效
+ * <p>
+ * 文件为定长槽位的开放寻址哈希表（线性探测），每个槽位 128 字节：
+ * 状态(1) + 填充(3) + 空闲有效期秒数(4) + 过期时间(8) + 会话ID(32) + 登录身份（见 {@link SessionCodec}），
+ * 过期时间按 8 字节对齐，读取时在读锁下以 CAS 顺延。
+ * 删除使用墓碑标记，墓碑与过期槽位在写入时复用；非空槽位超过容量的 3/4 时原地重排，
+ * 将墓碑与过期槽位清空，使查找不存在的会话时的探测长度保持有界。仅供单个进程独占使用。
+ *
+ * @author wys17
+ */
+public class MappedFileSessionStore implements SessionStore, AutoCloseable {
+
+    /**
+     * 文件标识，槽位布局变化时更换，旧文件随之丢弃
+     */
+    private static final int MAGIC = 0x53455355;
+
+    private static final int HEADER_SIZE = 64;
+
+    private static final int SLOT_SIZE = 128;
+
+    /**
+     * 最大槽位数，保证映射区域不超过 2GB
+     */
+    private static final int MAX_CAPACITY = 1 << 23;
+
+    /**
+     * 会话ID固定长度（128 位随机数的十六进制）
+     */
+    public static final int ID_LENGTH = 32;
+
+    private static final byte EMPTY = 0;
+
+    private static final byte USED = 1;
+
+    private static final byte DELETED = 2;
+
+    private static final int TTL_OFFSET = Integer.BYTES;
+
+    private static final int EXPIRE_OFFSET = Long.BYTES;
+
+    private static final int ID_OFFSET = EXPIRE_OFFSET + Long.BYTES;
+
+    private static final int PRINCIPAL_OFFSET = ID_OFFSET + ID_LENGTH;
+
+    /**
+     * 以 long 视图原子读写映射区域中对齐的过期时间
+     */
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private final int capacity;
+
+    /**
+     * 非空槽位（含墓碑与过期会话）数量上限
+     */
+    private final int maxOccupied;
+
+    /**
+     * 非空槽位数量，写锁保护
+     */
+    private int occupied;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param path     映射文件路径
+     * @param capacity 槽位数，向上取整为 2 的幂；最多同时保存其中 3/4 的会话
+     */
+    public MappedFileSessionStore(Path path, int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException(String.format("Session store capacity must be between 1 and %d", MAX_CAPACITY));
+        }
+        int rounded = 2;
+        while (rounded < capacity) {
+            rounded <<= 1;
+        }
+        this.capacity = rounded;
+        this.maxOccupied = rounded - Math.max(1, rounded / 4);
+        long size = HEADER_SIZE + (long) this.capacity * SLOT_SIZE;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            boolean reusable = channel.size() == size && readHeader();
+            if (!reusable) {
+                // 布局不一致时丢弃旧会话，映射时新文件区域由系统填零
+                channel.truncate(0);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (reusable) {
+                // 重启后统一清理上次运行留下的墓碑与过期会话
+                compact(System.currentTimeMillis());
+            } else {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(Integer.BYTES, this.capacity);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open session store " + path, e);
+        }
+    }
+
+    @Override
+    public void save(String sessionId, LoginPrincipal principal, Duration ttl) {
+        byte[] id = idBytes(sessionId);
+        if (id == null) {
+            throw new IllegalArgumentException(String.format("Session id must be %d ASCII characters", ID_LENGTH));
+        }
+        long now = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            int target = slotForSave(id, now);
+            if (target >= 0 && buffer.get(target) == EMPTY) {
+                // 占用新的空槽位前检查负载，超过上限时先清理墓碑与过期会话
+                if (occupied >= maxOccupied) {
+                    compact(now);
+                    target = occupied >= maxOccupied ? -1 : slotForSave(id, now);
+                }
+                if (target >= 0) {
+                    occupied++;
+                }
+            }
+            if (target < 0) {
+                throw new IllegalStateException("Session store is full");
+            }
+            buffer.put(target, USED);
+            buffer.putInt(target + TTL_OFFSET, (int) Math.min(ttl.toSeconds(), Integer.MAX_VALUE));
+            LONGS.setVolatile(buffer, target + EXPIRE_OFFSET, now + ttl.toMillis());
+            buffer.put(target + ID_OFFSET, id);
+            SessionCodec.write(buffer.slice(target + PRINCIPAL_OFFSET, SLOT_SIZE - PRINCIPAL_OFFSET), principal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public LoginPrincipal get(String sessionId) {
+        byte[] id = idBytes(sessionId);
+        if (id == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            int offset = find(id);
+            if (offset < 0) {
+                return null;
+            }
+            long now = System.currentTimeMillis();
+            long expireAt = (long) LONGS.getVolatile(buffer, offset + EXPIRE_OFFSET);
+            if (expireAt <= now) {
+                return null;
+            }
+            // 滑动过期：读锁下并发读取同一槽位时只向后推进过期时间
+            long renewed = now + buffer.getInt(offset + TTL_OFFSET) * 1000L;
+            while (expireAt < renewed && !LONGS.compareAndSet(buffer, offset + EXPIRE_OFFSET, expireAt, renewed)) {
+                expireAt = (long) LONGS.getVolatile(buffer, offset + EXPIRE_OFFSET);
+            }
+            return SessionCodec.read(buffer.slice(offset + PRINCIPAL_OFFSET, SLOT_SIZE - PRINCIPAL_OFFSET));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        byte[] id = idBytes(sessionId);
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int offset = find(id);
+            if (offset >= 0) {
+                buffer.put(offset, DELETED);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 写入时的目标槽位：已有会话的槽位，否则为探测链上第一个墓碑或过期槽位，否则为链尾的空槽位；
+     * 均不存在时返回 -1
+     */
+    private int slotForSave(byte[] id, long now) {
+        int reusable = -1;
+        int index = hash(id);
+        for (int probe = 0; probe < capacity; probe++) {
+            int offset = slotOffset(index + probe);
+            byte state = buffer.get(offset);
+            if (state == EMPTY) {
+                return reusable >= 0 ? reusable : offset;
+            }
+            if (state == USED && idEquals(offset, id)) {
+                return offset;
+            }
+            if (reusable < 0 && (state == DELETED || (long) LONGS.getVolatile(buffer, offset + EXPIRE_OFFSET) <= now)) {
+                reusable = offset;
+            }
+        }
+        return reusable;
+    }
+
+    /**
+     * 原地重排：墓碑与过期槽位置为空，再从一个原本为空的槽位之后依次将存活会话重新插入到其探测链上第一个空槽位。
+     * 存活会话的探测链不会跨过原本为空的槽位，按此顺序移动不会打断已处理会话的探测链。调用方须持有写锁
+     */
+    private void compact(long now) {
+        int start = -1;
+        for (int i = 0; i < capacity; i++) {
+            int offset = slotOffset(i);
+            byte state = buffer.get(offset);
+            if (state == EMPTY && start < 0) {
+                start = i;
+            }
+            if (state == DELETED || (state == USED && (long) LONGS.getVolatile(buffer, offset + EXPIRE_OFFSET) <= now)) {
+                buffer.put(offset, EMPTY);
+            }
+        }
+        if (start < 0) {
+            // 没有原本为空的槽位（仅可能出现在损坏的文件中），无法安全重排，整体丢弃
+            for (int i = 0; i < capacity; i++) {
+                buffer.put(slotOffset(i), EMPTY);
+            }
+            occupied = 0;
+            return;
+        }
+        byte[] id = new byte[ID_LENGTH];
+        int live = 0;
+        for (int step = 1; step <= capacity; step++) {
+            int offset = slotOffset(start + step);
+            if (buffer.get(offset) != USED) {
+                continue;
+            }
+            live++;
+            buffer.get(offset + ID_OFFSET, id);
+            buffer.put(offset, EMPTY);
+            int index = hash(id);
+            int target = slotOffset(index);
+            for (int probe = 1; buffer.get(target) != EMPTY; probe++) {
+                target = slotOffset(index + probe);
+            }
+            if (target != offset) {
+                buffer.put(target, buffer, offset, SLOT_SIZE);
+            }
+            buffer.put(target, USED);
+        }
+        occupied = live;
+    }
+
+    /**
+     * 查找会话所在槽位偏移，不存在时返回 -1
+     */
+    private int find(byte[] id) {
+        int index = hash(id);
+        for (int probe = 0; probe < capacity; probe++) {
+            int offset = slotOffset(index + probe);
+            byte state = buffer.get(offset);
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (state == USED && idEquals(offset, id)) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    private boolean readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * 2);
+        channel.read(header, 0);
+        header.flip();
+        return header.remaining() == Integer.BYTES * 2 && header.getInt() == MAGIC && header.getInt() == capacity;
+    }
+
+    private boolean idEquals(int offset, byte[] id) {
+        for (int i = 0; i < ID_LENGTH; i++) {
+            if (buffer.get(offset + ID_OFFSET + i) != id[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int slotOffset(int index) {
+        return HEADER_SIZE + (index & (capacity - 1)) * SLOT_SIZE;
+    }
+
+    private static int hash(byte[] id) {
+        int h = 1;
+        for (byte b : id) {
+            h = 31 * h + b;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static byte[] idBytes(String sessionId) {
+        if (sessionId == null || sessionId.length() != ID_LENGTH) {
+            return null;
+        }
+        byte[] id = sessionId.getBytes(StandardCharsets.US_ASCII);
+        return id.length == ID_LENGTH ? id : null;
+    }
+}
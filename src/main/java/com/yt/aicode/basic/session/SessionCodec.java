@@ -0,0 +1,61 @@
+package com.yt.aicode.basic.session;
+
+import com.yt.aicode.basic.common.LoginPrincipal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 登录身份的紧凑二进制编码：用户id(8) + 角色长度(1) + 角色(UTF-8)
+ *
+ * @author wys17
+ */
+public final class SessionCodec {
+
+    /**
+     * 角色最大字节数
+     */
+    public static final int MAX_ROLE_BYTES = 64;
+
+    private SessionCodec() {
+    }
+
+    public static byte[] encode(LoginPrincipal principal) {
+        byte[] role = roleBytes(principal.userRole());
+        return ByteBuffer.allocate(Long.BYTES + 1 + role.length)
+                .putLong(principal.id())
+                .put((byte) role.length)
+                .put(role)
+                .array();
+    }
+
+    public static LoginPrincipal decode(byte[] bytes) {
+        return read(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * 从当前位置写入登录身份
+     */
+    static void write(ByteBuffer buffer, LoginPrincipal principal) {
+        byte[] role = roleBytes(principal.userRole());
+        buffer.putLong(principal.id()).put((byte) role.length).put(role);
+    }
+
+    /**
+     * 从当前位置读取登录身份
+     */
+    static LoginPrincipal read(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        byte[] role = new byte[buffer.get() & 0xFF];
+        buffer.get(role);
+        return new LoginPrincipal(id, new String(role, StandardCharsets.UTF_8));
+    }
+
+    private static byte[] roleBytes(String userRole) {
+        byte[] role = userRole == null ? new byte[0] : userRole.getBytes(StandardCharsets.UTF_8);
+        if (role.length > MAX_ROLE_BYTES) {
+            throw new IllegalArgumentException(String.format("User role can't be longer than %d bytes", MAX_ROLE_BYTES));
+        }
+        return role;
+    }
+}
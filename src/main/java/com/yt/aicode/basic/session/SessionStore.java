@@ -0,0 +1,45 @@
+package com.yt.aicode.basic.session;
+
+import com.yt.aicode.basic.common.LoginPrincipal;
+
+import java.time.Duration;
+
+/**
+ * 登录会话存储，只保存最小登录身份（{@link LoginPrincipal}），不保存完整用户实体
+ * <p>
+ * 外部存储（如 Redis）的适配约定：
+ * <ul>
+ *     <li>键为会话ID，值为 {@link SessionCodec#encode} 的字节，save 对应 SET key value EX ttl；</li>
+ *     <li>get 对应 GETEX key EX ttl，读取的同时按保存时的 ttl 续期（空闲超时），键不存在或已过期返回 null；</li>
+ *     <li>remove 对应 DEL，键不存在时静默忽略；</li>
+ *     <li>实现必须线程安全，且不在调用方线程上做无界阻塞。</li>
+ * </ul>
+ *
+ * @author wys17
+ */
+public interface SessionStore {
+
+    /**
+     * 保存会话
+     *
+     * @param sessionId 会话ID
+     * @param principal 登录身份
+     * @param ttl       空闲有效期，每次读取后重新计时
+     */
+    void save(String sessionId, LoginPrincipal principal, Duration ttl);
+
+    /**
+     * 读取会话，并将过期时间顺延为从当前时刻起的一个有效期
+     *
+     * @param sessionId 会话ID
+     * @return 登录身份，不存在或已过期时为 null
+     */
+    LoginPrincipal get(String sessionId);
+
+    /**
+     * 删除会话
+     *
+     * @param sessionId 会话ID
+     */
+    void remove(String sessionId);
+}
@@ -0,0 +1,48 @@
+package com.yt.aicode.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 账号布隆过滤器配置
+ *
+ * @author wys17
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "account-filter")
+public class AccountFilterProperties {
+
+    /**
+     * 是否启用
+     */
+    private boolean enabled = true;
+
+    /**
+     * 登录时是否直接采信"一定不存在"、不再查询数据库。
+     * 只有所有账号写入都经过本节点（单实例部署且不在库中直接改账号）时才能开启，
+     * 否则其他节点新注册的账号在重建前会被误判为不存在
+     */
+    private boolean trustNegative = false;
+
+    /**
+     * 目标误判率（把不存在的账号判为可能存在的概率）
+     */
+    private double falsePositiveRate = 0.01D;
+
+    /**
+     * 首次构建的预期账号数，之后按上次的账号数乘以 growthFactor 确定容量
+     */
+    private long expectedInsertions = 1000000L;
+
+    /**
+     * 重建时容量相对当前账号数的放大倍数
+     */
+    private double growthFactor = 2.0D;
+
+    /**
+     * 定期重建间隔（分钟），清除物理删除的账号并按新容量重新分配
+     */
+    private long rebuildIntervalMinutes = 60L;
+}
@@ -0,0 +1,118 @@
+package com.yt.aicode.config;
+
+import com.yt.aicode.annotation.AuthCheck;
+import com.yt.aicode.basic.common.LoginPrincipal;
+import com.yt.aicode.basic.service.UserService;
+import com.yt.aicode.enums.UserRoleEnum;
+import com.yt.aicode.exception.BusinessException;
+import com.yt.aicode.exception.ErrorCode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 权限校验拦截器
+ * <p>
+ * 启动时为每个标注 {@link AuthCheck} 的处理方法预先计算所需角色位，请求时只做一次表查找与位运算；
+ * 未标注的接口不做任何鉴权工作。用户持有的角色位由 {@link LoginPrincipal#roleMask()} 携带。
+ *
+ * @author wys17
+ */
+@Slf4j
+@Component
+public class AuthCheckInterceptor implements HandlerInterceptor, SmartInitializingSingleton {
+
+    /**
+     * 处理方法 -> 所需角色位；0 表示只要求登录，未标注的方法对应 PUBLIC
+     */
+    private final Map<Method, Integer> requiredMasks = new ConcurrentHashMap<>();
+
+    /**
+     * 未标注 AuthCheck 的方法
+     */
+    private static final int PUBLIC = -1;
+
+    private final UserService userService;
+
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappings;
+
+    public AuthCheckInterceptor(@Lazy UserService userService,
+                                ObjectProvider<RequestMappingHandlerMapping> handlerMappings) {
+        this.userService = userService;
+        this.handlerMappings = handlerMappings;
+    }
+
+    /**
+     * 所有单例就绪后预先计算已注册处理方法的所需角色位
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        handlerMappings.orderedStream()
+                .flatMap(mapping -> mapping.getHandlerMethods().values().stream())
+                .forEach(handlerMethod -> requiredMasks.computeIfAbsent(handlerMethod.getMethod(),
+                        AuthCheckInterceptor::requiredMask));
+        long protectedCount = requiredMasks.values().stream().filter(mask -> mask != PUBLIC).count();
+        log.info("Auth check table built: {} handler methods, {} protected", requiredMasks.size(), protectedCount);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        // 启动后才注册的处理方法在首次访问时计算
+        int required = requiredMasks.computeIfAbsent(handlerMethod.getMethod(), AuthCheckInterceptor::requiredMask);
+        if (required == PUBLIC) {
+            return true;
+        }
+        if (required == 0) {
+            // 只要求登录：TOKEN 模式下只校验令牌，不查库；未登录时抛出未登录异常
+            userService.getLoginPrincipal(request);
+            return true;
+        }
+        // 要求角色：以用户当前角色为准，令牌签发后被降级或封禁的用户立即失去权限
+        LoginPrincipal loginPrincipal = userService.getVerifiedLoginPrincipal(request);
+        if ((loginPrincipal.roleMask() & required) == 0) {
+            throw BusinessException.of(ErrorCode.NO_AUTH_ERROR);
+        }
+        return true;
+    }
+
+    /**
+     * 由注解计算所需角色位：mustRole 与 anyRole 中各角色位的并集
+     */
+    static int requiredMask(Method method) {
+        AuthCheck authCheck = AnnotatedElementUtils.findMergedAnnotation(method, AuthCheck.class);
+        if (authCheck == null) {
+            return PUBLIC;
+        }
+        int mask = 0;
+        if (!authCheck.mustRole().isEmpty()) {
+            mask |= roleBit(method, authCheck.mustRole());
+        }
+        for (String role : authCheck.anyRole()) {
+            mask |= roleBit(method, role);
+        }
+        return mask;
+    }
+
+    private static int roleBit(Method method, String value) {
+        UserRoleEnum role = UserRoleEnum.getEnumByValue(value);
+        if (role == null) {
+            throw new IllegalStateException(String.format("Unknown role '%s' in @AuthCheck on %s", value, method));
+        }
+        return role.getBit();
+    }
+}
@@ -0,0 +1,93 @@
+package com.yt.aicode.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 登录态配置
+ *
+ * @author wys17
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "auth")
+public class AuthProperties {
+
+    /**
+     * 登录态模式
+     */
+    private AuthMode mode = AuthMode.SESSION;
+
+    /**
+     * TOKEN 模式的 HMAC 签名密钥，集群内各节点须一致；为空时启动随机生成（重启后令牌失效）
+     */
+    private String tokenSecret;
+
+    /**
+     * TOKEN 模式令牌有效期（秒）
+     */
+    private long tokenTtlSeconds = 604800L;
+
+    /**
+     * TOKEN 模式下携带令牌的 Cookie 名；请求也可以通过 Authorization: Bearer 头携带
+     */
+    private String tokenCookieName = "ai_code_token";
+
+    /**
+     * STORE 模式的会话存储实现
+     */
+    private SessionStoreType sessionStore = SessionStoreType.MEMORY;
+
+    /**
+     * STORE 模式会话有效期（秒）
+     */
+    private long sessionTtlSeconds = 1800L;
+
+    /**
+     * STORE 模式携带会话ID的 Cookie 名
+     */
+    private String sessionCookieName = "ai_code_sid";
+
+    /**
+     * MAPPED_FILE 存储：映射文件路径
+     */
+    private String sessionFile = "data/session.store";
+
+    /**
+     * 会话存储容量（条）；MAPPED_FILE 存储为槽位数，最多同时保存其中 3/4 的会话
+     */
+    private int sessionCapacity = 65536;
+
+    /**
+     * 登录态模式
+     */
+    public enum AuthMode {
+        /**
+         * 用户信息保存在 HttpSession 中
+         */
+        SESSION,
+        /**
+         * 无状态签名令牌，节点间无需共享会话
+         */
+        TOKEN,
+        /**
+         * 会话ID Cookie + 可插拔的会话存储，只保存最小登录身份
+         */
+        STORE
+    }
+
+    /**
+     * 会话存储实现
+     */
+    public enum SessionStoreType {
+        /**
+         * 进程内存储
+         */
+        MEMORY,
+        /**
+         * 内存映射文件，堆外且重启后保留
+         */
+        MAPPED_FILE
+    }
+}
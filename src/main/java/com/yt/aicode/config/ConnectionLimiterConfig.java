@@ -0,0 +1,41 @@
+package com.yt.aicode.config;
+
+import com.yt.aicode.basic.common.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 虚拟线程模式（spring.threads.virtual.enabled=true）下，用与 Hikari 连接池上限相同的许可数包装数据源
+ *
+ * @author wys17
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConnectionLimiterConfig {
+
+    /**
+     * 后置处理器需静态声明，配置在首次处理数据源时才读取
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimiterPostProcessor(ObjectProvider<ConnectionLimiterProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikariDataSource) {
+                    int maxConnections = hikariDataSource.getMaximumPoolSize();
+                    log.info("Connection limiter enabled for {} with {} permits", beanName, maxConnections);
+                    return new ConnectionLimitingDataSource(hikariDataSource, maxConnections,
+                            properties.getObject().getAcquireTimeoutMs());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.yt.aicode.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 数据库连接并发限制配置（仅虚拟线程模式生效）
+ *
+ * @author wys17
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "connection-limiter")
+public class ConnectionLimiterProperties {
+
+    /**
+     * 等待连接许可的最长时间（毫秒），超时抛出 SQLTransientConnectionException
+     */
+    private long acquireTimeoutMs = 60000L;
+}
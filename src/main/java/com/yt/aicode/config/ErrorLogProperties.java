@@ -0,0 +1,26 @@
+package com.yt.aicode.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 业务异常日志限流配置
+ *
+ * @author wys17
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "error-log")
+public class ErrorLogProperties {
+
+    /**
+     * 每个错误码在一个窗口内最多输出的日志条数，超出部分只计数
+     */
+    private int businessPermitsPerWindow = 5;
+
+    /**
+     * 限流窗口（毫秒）
+     */
+    private long businessWindowMs = 10000L;
+}
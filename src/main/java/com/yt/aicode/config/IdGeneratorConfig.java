@@ -0,0 +1,37 @@
+package com.yt.aicode.config;
+
+import com.yt.aicode.basic.common.machine.DbIdBlockStore;
+import com.yt.aicode.basic.common.machine.EnvMachineIdProvider;
+import com.yt.aicode.basic.common.machine.IdBlockStore;
+import com.yt.aicode.basic.common.machine.IpHashMachineIdProvider;
+import com.yt.aicode.basic.common.machine.LeaseMachineIdProvider;
+import com.yt.aicode.basic.common.machine.MachineIdProvider;
+import com.yt.aicode.basic.common.machine.StaticMachineIdProvider;
+import com.yt.aicode.basic.dao.IdBlockDao;
+import com.yt.aicode.basic.dao.MachineLeaseDao;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ID生成器配置：按 id-generator.machine-id-source 选择机器ID提供者，FEISTEL 计数器号段持久化在 id_block 表
+ *
+ * @author wys17
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdBlockStore idBlockStore(IdBlockDao idBlockDao) {
+        return new DbIdBlockStore(idBlockDao);
+    }
+
+    @Bean
+    public MachineIdProvider machineIdProvider(IdGeneratorProperties properties, MachineLeaseDao machineLeaseDao) {
+        return switch (properties.getMachineIdSource()) {
+            case STATIC -> new StaticMachineIdProvider(properties.getMachineId());
+            case ENV -> new EnvMachineIdProvider(properties.getMachineIdEnv());
+            case LEASE -> new LeaseMachineIdProvider(machineLeaseDao, properties.getLeaseTtlSeconds());
+            case IP -> new IpHashMachineIdProvider();
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.yt.aicode.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 雪花算法ID生成器配置
+ *
+ * @author wys17
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "id-generator")
+public class IdGeneratorProperties {
+
+    /**
+     * 允许容忍的时钟回拨窗口（毫秒），窗口内沿用上一次的时间戳继续发号，超出则抛异常
+     */
+    private long maxBackwardMs = 5L;
+
+    /**
+     * ID模式
+     */
+    private IdMode mode = IdMode.HASH;
+
+    /**
+     * FEISTEL 模式的置换密钥，各节点须保持一致；FEISTEL 模式下必须显式配置且不能为 0
+     */
+    private Long feistelKey;
+
+    /**
+     * FEISTEL 模式下节点每次从 id_block 表租用的计数器号段大小，重启时未用完的部分被跳过
+     */
+    private long feistelBlockSize = 1000L;
+
+    /**
+     * 机器ID位数，与序列号位数之和不超过 22（保留至少 41 位时间戳）
+     */
+    private int machineIdBits = 5;
+
+    /**
+     * 序列号位数，决定单节点每毫秒可发号数量
+     */
+    private int sequenceBits = 12;
+
+    /**
+     * 机器ID来源
+     */
+    private MachineIdSource machineIdSource = MachineIdSource.IP;
+
+    /**
+     * STATIC 来源：固定的机器ID
+     */
+    private long machineId = 0L;
+
+    /**
+     * ENV 来源：存放机器ID的环境变量名，未设置时取主机名末尾序号
+     */
+    private String machineIdEnv = "MACHINE_ID";
+
+    /**
+     * LEASE 来源：租约时长（秒），每 1/3 时长心跳续约一次
+     */
+    private long leaseTtlSeconds = 30L;
+
+    /**
+     * ID模式
+     */
+    public enum IdMode {
+        /**
+         * 雪花ID取模折叠为10位数，存在碰撞可能
+         */
+        HASH,
+        /**
+         * 节点计数器经 Feistel 置换为10位数，构造上无碰撞
+         */
+        FEISTEL
+    }
+
+    /**
+     * 机器ID来源
+     */
+    public enum MachineIdSource {
+        /**
+         * 本地IP的hash值，仅适合单机
+         */
+        IP,
+        /**
+         * 配置文件中的固定值
+         */
+        STATIC,
+        /**
+         * 环境变量或主机名序号
+         */
+        ENV,
+        /**
+         * 数据库租约
+         */
+        LEASE
+    }
+}
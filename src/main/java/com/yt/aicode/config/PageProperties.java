@@ -0,0 +1,62 @@
+package com.yt.aicode.config;
+
+import com.yt.aicode.enums.CountModeEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 分页配置
+ *
+ * @author wys17
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "page")
+public class PageProperties {
+
+    /**
+     * 默认总数统计方式，请求可通过 countMode 覆盖
+     */
+    private CountModeEnum countMode = CountModeEnum.EXACT;
+
+    /**
+     * CACHED 模式：count 结果缓存时间（秒）
+     */
+    private long countCacheTtlSeconds = 30L;
+
+    /**
+     * CACHED 模式：最多缓存的筛选条件组合数
+     */
+    private long countCacheMaximumSize = 1000L;
+
+    /**
+     * ESTIMATED 模式：估算行数达到该阈值才使用估算值，否则仍精确统计；带筛选条件时按 CACHED 统计
+     */
+    private long estimateThreshold = 100000L;
+
+    /**
+     * 是否在线程池中统计总数、同时在请求线程查询本页
+     */
+    private boolean parallelFetch = true;
+
+    /**
+     * 并发统计线程数
+     */
+    private int parallelThreads = 8;
+
+    /**
+     * 并发统计等待队列容量，队满时退回顺序执行
+     */
+    private int parallelQueueCapacity = 32;
+
+    /**
+     * 单次请求等待总数的超时时间（毫秒）
+     */
+    private long parallelTimeoutMs = 3000L;
+
+    /**
+     * 连接池可用连接（空闲 + 尚可新建）少于该值或已有线程在等待连接时退回顺序执行
+     */
+    private int parallelMinAvailableConnections = 4;
+}
@@ -0,0 +1,80 @@
+package com.yt.aicode.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 密码哈希配置
+ *
+ * @author wys17
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "password")
+public class PasswordProperties {
+
+    /**
+     * 新密码使用的算法，已有密码在登录成功时迁移到该算法
+     */
+    private Algorithm algorithm = Algorithm.BCRYPT;
+
+    /**
+     * bcrypt 强度（log2 轮数）
+     */
+    private int bcryptStrength = 10;
+
+    /**
+     * PBKDF2-HMAC-SHA256 迭代次数
+     */
+    private int pbkdf2Iterations = 310000;
+
+    /**
+     * Argon2id 内存开销（KB）
+     */
+    private int argon2MemoryKb = 19456;
+
+    /**
+     * Argon2id 迭代次数
+     */
+    private int argon2Iterations = 2;
+
+    /**
+     * Argon2id 并行度
+     */
+    private int argon2Parallelism = 1;
+
+    /**
+     * 哈希线程数，默认为 CPU 核数
+     */
+    private int executorThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 哈希任务队列容量，队满时直接拒绝，避免登录洪峰拖垮请求线程
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 请求线程等待哈希结果的超时时间（毫秒）
+     */
+    private long timeoutMs = 5000L;
+
+    /**
+     * 批量哈希（导入）线程数，与登录校验线程池隔离，默认为 CPU 核数的一半
+     */
+    private int bulkThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * 批量哈希任务队列容量，按单条密码计，应不小于导入批大小
+     */
+    private int bulkQueueCapacity = 2048;
+
+    /**
+     * 密码哈希算法
+     */
+    public enum Algorithm {
+        ARGON2,
+        BCRYPT,
+        PBKDF2
+    }
+}
@@ -0,0 +1,28 @@
+package com.yt.aicode.config;
+
+import com.yt.aicode.basic.session.InMemorySessionStore;
+import com.yt.aicode.basic.session.MappedFileSessionStore;
+import com.yt.aicode.basic.session.SessionStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.nio.file.Path;
+
+/**
+ * 会话存储配置：按 auth.session-store 选择实现，仅在 STORE 模式下首次使用时创建
+ *
+ * @author wys17
+ */
+@Configuration
+public class SessionStoreConfig {
+
+    @Bean
+    @Lazy
+    public SessionStore sessionStore(AuthProperties properties) {
+        return switch (properties.getSessionStore()) {
+            case MAPPED_FILE -> new MappedFileSessionStore(Path.of(properties.getSessionFile()), properties.getSessionCapacity());
+            case MEMORY -> new InMemorySessionStore(properties.getSessionCapacity());
+        };
+    }
+}
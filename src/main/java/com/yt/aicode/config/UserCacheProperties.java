@@ -0,0 +1,36 @@
+package com.yt.aicode.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户缓存配置
+ *
+ * @author wys17
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "user-cache")
+public class UserCacheProperties {
+
+    /**
+     * 最大缓存条数
+     */
+    private long maximumSize = 10000L;
+
+    /**
+     * 写入后过期时间（秒）
+     */
+    private long expireAfterWriteSeconds = 300L;
+
+    /**
+     * 同时进行的合并查询数上限：有空闲许可时未命中立即查询，许可用完时等待期间到达的id合并为一次 IN 查询
+     */
+    private int batchMaxConcurrency = 4;
+
+    /**
+     * 单次合并查询的最大id数，攒满立即查询
+     */
+    private int batchMaxSize = 100;
+}
@@ -0,0 +1,26 @@
+package com.yt.aicode.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户批量导入配置
+ *
+ * @author wys17
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "user-import")
+public class UserImportProperties {
+
+    /**
+     * 每批写入的行数，每批一条 insertBatch 语句、独立提交
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * 结果中最多保留的失败明细条数
+     */
+    private int maxReportedErrors = 1000;
+}
@@ -0,0 +1,36 @@
+package com.yt.aicode.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户搜索索引配置
+ *
+ * @author wys17
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "user-search")
+public class UserSearchProperties {
+
+    /**
+     * 是否启用内存倒排索引，关闭或首次构建完成前搜索回落到数据库子串匹配（LIKE）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 每个字段参与建倒排的最大字符数，更长的文本在查询时逐条校验，限制长简介带来的内存占用
+     */
+    private int maxIndexedChars = 32;
+
+    /**
+     * 定期重建间隔（分钟），使其他节点的写入可见并压缩已删除的条目
+     */
+    private long rebuildIntervalMinutes = 10L;
+
+    /**
+     * 回落到数据库子串匹配时总数的统计上限，超过时总数按上限返回，避免整表计数
+     */
+    private int fallbackMaxCount = 10000;
+}
@@ -0,0 +1,39 @@
+package com.yt.aicode.config;
+
+import com.yt.aicode.annotation.CurrentUser;
+import jakarta.annotation.Resource;
+import org.springdoc.core.utils.SpringDocUtils;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * @author wys17
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    static {
+        // 接口文档中隐藏由服务端注入的当前用户参数
+        SpringDocUtils.getConfig().addAnnotationsToIgnore(CurrentUser.class);
+    }
+
+    @Resource
+    private CurrentUserArgumentResolver currentUserArgumentResolver;
+
+    @Resource
+    private AuthCheckInterceptor authCheckInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(authCheckInterceptor);
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserArgumentResolver);
+    }
+}
@@ -0,0 +1,48 @@
+package com.yt.aicode.dto;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 批量导入的一行用户数据（CSV 表头或 NDJSON 字段名与属性名一致）
+ *
+ * @author wys17
+ */
+@Data
+public class UserImportDto implements Serializable {
+
+    /**
+     * 账号
+     */
+    private String userAccount;
+
+    /**
+     * 密码，为空时使用默认密码
+     */
+    private String userPassword;
+
+    /**
+     * 用户昵称
+     */
+    private String userName;
+
+    /**
+     * 用户头像
+     */
+    private String userAvatar;
+
+    /**
+     * 用户简介
+     */
+    private String userProfile;
+
+    /**
+     * 用户角色: user, admin，为空时为 user
+     */
+    private String userRole;
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
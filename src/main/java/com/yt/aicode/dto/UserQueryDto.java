@@ -1,6 +1,7 @@
 package com.yt.aicode.dto;
 
 import com.yt.aicode.basic.common.PageInfo;
+import com.yt.aicode.enums.CountModeEnum;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -39,6 +40,16 @@ public class UserQueryDto extends PageInfo implements Serializable {
      */
     private String userRole;
 
+    /**
+     * 搜索关键词：在账号、昵称、简介中按子串匹配，仅搜索接口使用
+     */
+    private String keyword;
+
+    /**
+     * 总数统计方式，为空时使用默认配置
+     */
+    private CountModeEnum countMode;
+
     @Serial
     private static final long serialVersionUID = 1L;
 }
\ No newline at end of file
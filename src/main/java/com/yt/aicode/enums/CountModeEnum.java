@@ -0,0 +1,26 @@
+package com.yt.aicode.enums;
+
+/**
+ * 分页总数统计方式
+ *
+ * @author wys17
+ */
+public enum CountModeEnum {
+    /**
+     * 每次精确 count
+     */
+    EXACT,
+    /**
+     * 按筛选条件缓存 count 结果，TTL 内复用
+     */
+    CACHED,
+    /**
+     * 无任何筛选条件（含删除标记）且表足够大时使用表统计信息估算，结果为近似值且包含软删除的行；
+     * 带筛选条件时退回 CACHED
+     */
+    ESTIMATED,
+    /**
+     * 不统计总数，多取一条判断是否有下一页
+     */
+    HAS_NEXT
+}
@@ -0,0 +1,41 @@
+package com.yt.aicode.enums;
+
+import lombok.Getter;
+
+/**
+ * 批量导入导出的数据格式
+ *
+ * @author wys17
+ */
+@Getter
+public enum DataFormatEnum {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+
+    private final String extension;
+
+    DataFormatEnum(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * 根据请求的 Content-Type 判断格式
+     *
+     * @param contentType 请求头，可带 charset 等参数
+     * @return 格式，不支持时为 null
+     */
+    public static DataFormatEnum getEnumByContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        for (DataFormatEnum format : values()) {
+            if (contentType.regionMatches(true, 0, format.contentType, 0, format.contentType.length())) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
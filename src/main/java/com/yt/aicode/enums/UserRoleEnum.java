@@ -15,7 +15,7 @@ import java.util.stream.Stream;
 public enum UserRoleEnum {
     //枚举常量和字段
     USER("用户","user"),
-    ADMIN("管理员","admin");
+    ADMIN("管理员","admin", USER);
 
     // 创建一个静态的 Map 用于快速查找
     private static final Map<String, UserRoleEnum> VALUE_MAP =
@@ -24,9 +24,25 @@ public enum UserRoleEnum {
     private final String text;
     private final String value;
 
-    UserRoleEnum(String text, String value) {
+    /**
+     * 角色自身的位，用于表示接口要求的角色
+     */
+    private final int bit;
+
+    /**
+     * 持有该角色时拥有的角色位（自身及其包含的下级角色）
+     */
+    private final int grantedMask;
+
+    UserRoleEnum(String text, String value, UserRoleEnum... implied) {
         this.text = text;
         this.value = value;
+        this.bit = 1 << ordinal();
+        int mask = bit;
+        for (UserRoleEnum role : implied) {
+            mask |= role.grantedMask;
+        }
+        this.grantedMask = mask;
     }
 
     /**
@@ -35,4 +51,12 @@ public enum UserRoleEnum {
     public static UserRoleEnum getEnumByValue(String value) {
         return VALUE_MAP.get(value);
     }
-}
\ No newline at end of file
+
+    /**
+     * 用户角色值对应的角色位，未知角色为 0
+     */
+    public static int grantedMaskOf(String value) {
+        UserRoleEnum role = value == null ? null : VALUE_MAP.get(value);
+        return role == null ? 0 : role.grantedMask;
+    }
+}
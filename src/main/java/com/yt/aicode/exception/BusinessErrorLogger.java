@@ -0,0 +1,121 @@
+package com.yt.aicode.exception;
+
+import com.yt.aicode.config.ErrorLogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 业务异常日志采样器
+ * <p>
+ * 按错误码分固定窗口限流：每个窗口只输出前若干条（WARN，不带堆栈），其余只计数，
+ * 下一条输出的日志附带上一窗口被抑制的条数。所有业务异常都计入 api.errors，
+ * 被抑制的条数计入 api.errors.log.suppressed。
+ *
+ * @author wys17
+ */
+@Slf4j
+@Component
+public class BusinessErrorLogger {
+
+    private final MeterRegistry meterRegistry;
+
+    private final int permitsPerWindow;
+
+    private final long windowNanos;
+
+    /**
+     * 错误码 -> 限流窗口
+     */
+    private final Map<Integer, Window> windows = new ConcurrentHashMap<>();
+
+    public BusinessErrorLogger(MeterRegistry meterRegistry, ErrorLogProperties properties) {
+        if (properties.getBusinessPermitsPerWindow() < 0 || properties.getBusinessWindowMs() < 1) {
+            throw new IllegalArgumentException("Business error log permits can't be less than 0 and window can't be less than 1 ms");
+        }
+        this.meterRegistry = meterRegistry;
+        this.permitsPerWindow = properties.getBusinessPermitsPerWindow();
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(properties.getBusinessWindowMs());
+    }
+
+    /**
+     * 计数并按限流输出一条业务异常日志
+     *
+     * @param e       业务异常
+     * @param request 请求描述（方法与路径）
+     */
+    public void log(BusinessException e, String request) {
+        Window window = windows.computeIfAbsent(e.getCode(), this::newWindow);
+        window.errorCounter.increment();
+        long suppressed = window.tryAcquire(System.nanoTime());
+        if (suppressed < 0) {
+            return;
+        }
+        if (suppressed > 0) {
+            log.warn("BusinessException code={} message={} request={} ({} similar suppressed)",
+                    e.getCode(), e.getMessage(), request, suppressed);
+        } else {
+            log.warn("BusinessException code={} message={} request={}", e.getCode(), e.getMessage(), request);
+        }
+    }
+
+    private Window newWindow(int code) {
+        String tag = String.valueOf(code);
+        return new Window(
+                Counter.builder("api.errors").tag("code", tag)
+                        .tag("exception", BusinessException.class.getSimpleName()).register(meterRegistry),
+                Counter.builder("api.errors.log.suppressed").tag("code", tag).register(meterRegistry),
+                System.nanoTime());
+    }
+
+    /**
+     * 单个错误码的固定窗口
+     */
+    private final class Window {
+
+        private final Counter errorCounter;
+
+        private final Counter suppressedCounter;
+
+        private final AtomicLong windowStart;
+
+        private final AtomicInteger used = new AtomicInteger();
+
+        /**
+         * 自上一条输出以来被抑制的条数
+         */
+        private final LongAdder suppressed = new LongAdder();
+
+        Window(Counter errorCounter, Counter suppressedCounter, long now) {
+            this.errorCounter = errorCounter;
+            this.suppressedCounter = suppressedCounter;
+            this.windowStart = new AtomicLong(now);
+        }
+
+        /**
+         * 尝试获取一个输出许可
+         *
+         * @return -1 表示本窗口许可已用完；否则为此前被抑制的条数
+         */
+        long tryAcquire(long now) {
+            long start = windowStart.get();
+            if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+                used.set(0);
+            }
+            if (used.incrementAndGet() > permitsPerWindow) {
+                suppressed.increment();
+                suppressedCounter.increment();
+                return -1;
+            }
+            return suppressed.sumThenReset();
+        }
+    }
+}
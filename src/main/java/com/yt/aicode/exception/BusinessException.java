@@ -2,30 +2,57 @@ package com.yt.aicode.exception;
 
 import lombok.Getter;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
+ * 业务异常
+ * <p>
+ * 业务异常是预期内的控制流（参数错误、未登录、无权限等），不记录堆栈、不可追加 cause 与 suppressed，
+ * 因此同一错误码的默认异常可以共享预分配实例，见 {@link #of(ErrorCode)}。
+ *
  * @author wys17
  */
 @Getter
 public class BusinessException extends RuntimeException {
 
+    /**
+     * 各错误码使用默认信息的共享实例
+     */
+    private static final Map<ErrorCode, BusinessException> SHARED = new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            SHARED.put(errorCode, new BusinessException(errorCode));
+        }
+    }
+
     /**
      * 错误码
      */
     private final int code;
 
     public BusinessException(int code, String message) {
-        super(message);
+        // cause 显式置空后不能再 initCause，共享实例保持不可变
+        super(message, null, false, false);
         this.code = code;
     }
 
     public BusinessException(ErrorCode errorCode) {
-        super(errorCode.getMessage());
-        this.code = errorCode.getCode();
+        this(errorCode.getCode(), errorCode.getMessage());
     }
 
     public BusinessException(ErrorCode errorCode, String message) {
-        super(message);
-        this.code = errorCode.getCode();
+        this(errorCode.getCode(), message);
     }
-}
 
+    /**
+     * 获取错误码对应的共享实例（使用错误码的默认信息）
+     *
+     * @param errorCode 错误码
+     * @return 业务异常
+     */
+    public static BusinessException of(ErrorCode errorCode) {
+        return SHARED.get(errorCode);
+    }
+}
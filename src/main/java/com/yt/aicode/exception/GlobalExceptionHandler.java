@@ -1,7 +1,10 @@
 package com.yt.aicode.exception;
 
 import com.yt.aicode.basic.common.Result;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -14,16 +17,33 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    @Resource
+    private BusinessErrorLogger businessErrorLogger;
+
+    /**
+     * 业务异常是预期内的错误，不带堆栈，按错误码限流输出
+     */
     @ExceptionHandler(BusinessException.class)
-    public Result<?> businessExceptionHandler(BusinessException e) {
-        log.error("BusinessException", e);
+    public Result<?> businessExceptionHandler(BusinessException e, HttpServletRequest request) {
+        businessErrorLogger.log(e, request.getMethod() + " " + request.getRequestURI());
         return Result.error(e.getCode(), e.getMessage());
     }
 
     @ExceptionHandler(RuntimeException.class)
     public Result<?> runtimeExceptionHandler(RuntimeException e) {
         log.error("RuntimeException", e);
+        countError(ErrorCode.SYSTEM_ERROR.getCode(), e);
         return Result.error(ErrorCode.SYSTEM_ERROR, "系统错误");
     }
-}
 
+    /**
+     * 按错误码与异常类型计数（业务异常由 BusinessErrorLogger 计数）
+     */
+    private void countError(int code, Exception e) {
+        meterRegistry.counter("api.errors", "code", String.valueOf(code),
+                "exception", e.getClass().getSimpleName()).increment();
+    }
+}
@@ -21,17 +21,21 @@ public class ThrowUtils {
      * @param errorCode 错误码
      */
     public static void throwIf(boolean condition, ErrorCode errorCode) {
-        throwIf(condition, new BusinessException(errorCode));
+        if (condition) {
+            throw BusinessException.of(errorCode);
+        }
     }
 
     /**
-     * 条件成立则抛异常
+     * 条件成立则抛异常（条件不成立时不创建异常对象）
      *
      * @param condition 条件
      * @param errorCode 错误码
      * @param message   错误信息
      */
     public static void throwIf(boolean condition, ErrorCode errorCode, String message) {
-        throwIf(condition, new BusinessException(errorCode, message));
+        if (condition) {
+            throw new BusinessException(errorCode, message);
+        }
     }
 }
@@ -0,0 +1,53 @@
+package com.yt.aicode.vo;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 缓存统计
+ *
+ * @author wys17
+ */
+@Data
+public class CacheStatsVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 当前缓存条数（近似值）
+     */
+    private Long size;
+
+    /**
+     * 命中次数
+     */
+    private Long hitCount;
+
+    /**
+     * 未命中次数
+     */
+    private Long missCount;
+
+    /**
+     * 命中率
+     */
+    private Double hitRate;
+
+    /**
+     * 淘汰次数
+     */
+    private Long evictionCount;
+
+    /**
+     * 加载次数
+     */
+    private Long loadCount;
+
+    /**
+     * 平均加载耗时（纳秒）
+     */
+    private Double averageLoadPenalty;
+}
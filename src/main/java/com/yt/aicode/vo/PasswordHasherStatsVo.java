@@ -0,0 +1,68 @@
+package com.yt.aicode.vo;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 密码哈希线程池统计
+ *
+ * @author wys17
+ */
+@Data
+public class PasswordHasherStatsVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 当前算法
+     */
+    private String algorithm;
+
+    /**
+     * 线程数
+     */
+    private Integer poolSize;
+
+    /**
+     * 正在执行的任务数
+     */
+    private Integer activeCount;
+
+    /**
+     * 排队任务数
+     */
+    private Integer queueSize;
+
+    /**
+     * 队列容量
+     */
+    private Integer queueCapacity;
+
+    /**
+     * 已完成任务数
+     */
+    private Long completedCount;
+
+    /**
+     * 因队满被拒绝的任务数
+     */
+    private Long rejectedCount;
+
+    /**
+     * 平均哈希耗时（毫秒）
+     */
+    private Double averageHashMillis;
+
+    /**
+     * 批量哈希正在执行的任务数
+     */
+    private Integer bulkActiveCount;
+
+    /**
+     * 批量哈希排队任务数
+     */
+    private Integer bulkQueueSize;
+}
@@ -0,0 +1,37 @@
+package com.yt.aicode.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 批量导入的单行失败明细
+ *
+ * @author wys17
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportErrorVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 数据行号，从 1 开始（不含 CSV 表头）
+     */
+    private long row;
+
+    /**
+     * 账号
+     */
+    private String userAccount;
+
+    /**
+     * 失败原因
+     */
+    private String message;
+}
@@ -0,0 +1,45 @@
+package com.yt.aicode.vo;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量导入结果
+ *
+ * @author wys17
+ */
+@Data
+public class UserImportResultVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 读取的数据行数
+     */
+    private long total;
+
+    /**
+     * 成功导入行数
+     */
+    private long successCount;
+
+    /**
+     * 失败行数
+     */
+    private long failedCount;
+
+    /**
+     * 失败明细，最多保留配置的条数
+     */
+    private List<UserImportErrorVo> errors = new ArrayList<>();
+
+    /**
+     * 失败明细是否因超出上限被截断
+     */
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,130 @@
+package com.yt.aicode.basic.common;
+
+import com.yt.aicode.basic.common.machine.IdBlockStore;
+import com.yt.aicode.config.IdGeneratorProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * FEISTEL 模式的唯一性校验：多线程、多次重启与多机器ID下生成的ID不得重复
+ *
+ * @author wys17
+ */
+class SnowflakeIdGeneratorTest {
+
+    private static final int THREADS = 8;
+
+    private static final int TOTAL = 4_000_000;
+
+    private static final long KEY = 20240101L;
+
+    @Test
+    void feistelIdsAreUniqueUnderContention() throws InterruptedException {
+        SnowflakeIdGenerator generator = newGenerator(0, 0L, new InMemoryIdBlockStore());
+        long[] ids = new long[TOTAL];
+        int perThread = TOTAL / THREADS;
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int from = t * perThread;
+            int to = t == THREADS - 1 ? TOTAL : from + perThread;
+            threads[t] = new Thread(() -> {
+                for (int i = from; i < to; i++) {
+                    ids[i] = generator.generateId();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertUniqueTenDigits(ids);
+    }
+
+    @Test
+    void feistelIdsAreUniqueAcrossRestarts() {
+        InMemoryIdBlockStore store = new InMemoryIdBlockStore();
+        long[] ids = new long[0];
+        for (int restart = 0; restart < 3; restart++) {
+            // 每次重启丢弃未用完的号段，新实例从存储中的高水位继续
+            SnowflakeIdGenerator generator = newGenerator(0, 0L, store);
+            long[] batch = generator.generateIds(500_000);
+            ids = Arrays.copyOf(ids, ids.length + batch.length);
+            System.arraycopy(batch, 0, ids, ids.length - batch.length, batch.length);
+        }
+        assertUniqueTenDigits(ids);
+    }
+
+    @Test
+    void feistelIdsAreDisjointAcrossMachines() {
+        InMemoryIdBlockStore store = new InMemoryIdBlockStore();
+        long[] first = newGenerator(1, 0L, store).generateIds(500_000);
+        long[] second = newGenerator(1, 1L, store).generateIds(500_000);
+        long[] ids = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, ids, first.length, second.length);
+        assertUniqueTenDigits(ids);
+    }
+
+    @Test
+    void feistelPermutationRoundTrips() {
+        FeistelPermutation permutation = new FeistelPermutation(KEY);
+        for (long counter = 0; counter < 100_000; counter++) {
+            long id = permutation.encode(counter);
+            assertEquals(counter, permutation.decode(id));
+        }
+        assertEquals(FeistelPermutation.DOMAIN_SIZE - 1,
+                permutation.decode(permutation.encode(FeistelPermutation.DOMAIN_SIZE - 1)));
+    }
+
+    @Test
+    void feistelModeRejectsMissingKey() {
+        IdGeneratorProperties properties = new IdGeneratorProperties();
+        properties.setMode(IdGeneratorProperties.IdMode.FEISTEL);
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(properties, maxMachineId -> 0L, new InMemoryIdBlockStore()));
+        properties.setFeistelKey(0L);
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(properties, maxMachineId -> 0L, new InMemoryIdBlockStore()));
+    }
+
+    private static SnowflakeIdGenerator newGenerator(int machineIdBits, long machineId, IdBlockStore store) {
+        IdGeneratorProperties properties = new IdGeneratorProperties();
+        properties.setMode(IdGeneratorProperties.IdMode.FEISTEL);
+        properties.setMachineIdBits(machineIdBits);
+        properties.setFeistelKey(KEY);
+        return new SnowflakeIdGenerator(properties, maxMachineId -> machineId, store);
+    }
+
+    private static void assertUniqueTenDigits(long[] ids) {
+        long[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        assertTrue(sorted[0] >= FeistelPermutation.MIN_ID, "id below 10 digits: " + sorted[0]);
+        assertTrue(sorted[sorted.length - 1] < FeistelPermutation.MIN_ID + FeistelPermutation.DOMAIN_SIZE,
+                "id above 10 digits: " + sorted[sorted.length - 1]);
+        long duplicates = 0;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                duplicates++;
+            }
+        }
+        assertEquals(0L, duplicates, String.format("%d duplicate ids among %d", duplicates, sorted.length));
+    }
+
+    /**
+     * 按机器ID分别记录高水位的内存号段存储
+     */
+    private static class InMemoryIdBlockStore implements IdBlockStore {
+
+        private final AtomicLong[] highWater = {new AtomicLong(), new AtomicLong()};
+
+        @Override
+        public long allocate(long machineId, long size) {
+            return highWater[(int) machineId].getAndAdd(size);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.yt.aicode.basic.session;
+
+import com.yt.aicode.basic.common.LoginPrincipal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 内存映射文件会话存储：读写删除、滑动过期、槽位复用与重排、文件重开
+ *
+ * @author wys17
+ */
+class MappedFileSessionStoreTest {
+
+    private static final int HEADER_SIZE = 64;
+
+    private static final int SLOT_SIZE = 128;
+
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void saveGetRemove() throws IOException {
+        try (MappedFileSessionStore store = new MappedFileSessionStore(dir.resolve("s.store"), 16)) {
+            store.save(sessionId(1), new LoginPrincipal(1L, "admin"), TTL);
+            store.save(sessionId(2), new LoginPrincipal(2L, "user"), TTL);
+            assertEquals(new LoginPrincipal(1L, "admin"), store.get(sessionId(1)));
+            assertEquals(new LoginPrincipal(2L, "user"), store.get(sessionId(2)));
+            assertNull(store.get(sessionId(3)));
+            assertNull(store.get("not-a-session-id"));
+
+            store.save(sessionId(1), new LoginPrincipal(1L, "user"), TTL);
+            assertEquals(new LoginPrincipal(1L, "user"), store.get(sessionId(1)));
+
+            store.remove(sessionId(1));
+            assertNull(store.get(sessionId(1)));
+            assertEquals(new LoginPrincipal(2L, "user"), store.get(sessionId(2)));
+        }
+    }
+
+    @Test
+    void readsSlideExpiry() throws Exception {
+        try (MappedFileSessionStore store = new MappedFileSessionStore(dir.resolve("s.store"), 16)) {
+            store.save(sessionId(1), new LoginPrincipal(1L, "user"), Duration.ofSeconds(1));
+            store.save(sessionId(2), new LoginPrincipal(2L, "user"), Duration.ofSeconds(1));
+            for (int i = 0; i < 3; i++) {
+                Thread.sleep(600);
+                assertEquals(1L, store.get(sessionId(1)).id());
+            }
+            // 累计 1.8 秒：持续访问的会话仍然有效，未访问的会话已过期
+            assertNull(store.get(sessionId(2)));
+            Thread.sleep(1100);
+            assertNull(store.get(sessionId(1)));
+        }
+    }
+
+    @Test
+    void tombstonesAndExpiredSlotsAreReclaimed() throws Exception {
+        Path file = dir.resolve("s.store");
+        int capacity = 64;
+        try (MappedFileSessionStore store = new MappedFileSessionStore(file, capacity)) {
+            store.save(sessionId(0), new LoginPrincipal(0L, "user"), TTL);
+            for (int i = 1; i <= 10_000; i++) {
+                store.save(sessionId(i), new LoginPrincipal((long) i, "user"), TTL);
+                if (i % 100 == 0) {
+                    // 不登出、自然过期的会话
+                    store.save(sessionId(-i), new LoginPrincipal((long) -i, "user"), Duration.ofMillis(1));
+                    Thread.sleep(2);
+                }
+                store.remove(sessionId(i));
+            }
+            for (int i = 1; i <= 10_000; i++) {
+                assertNull(store.get(sessionId(i)));
+            }
+            assertEquals(0L, store.get(sessionId(0)).id());
+        }
+        // 墓碑与过期槽位被重排回收，非空槽位始终不超过容量的 3/4，查找不存在的会话必然在空槽位处结束
+        assertTrue(nonEmptySlots(file, capacity) <= capacity * 3 / 4);
+    }
+
+    @Test
+    void liveSessionsSurviveCompaction() throws IOException {
+        try (MappedFileSessionStore store = new MappedFileSessionStore(dir.resolve("s.store"), 64)) {
+            for (long i = 0; i < 40; i++) {
+                store.save(sessionId(i), new LoginPrincipal((long) i, "user"), TTL);
+            }
+            for (int round = 0; round < 200; round++) {
+                long id = 1000 + round;
+                store.save(sessionId(id), new LoginPrincipal(id, "user"), TTL);
+                store.remove(sessionId(id));
+            }
+            for (long i = 0; i < 40; i++) {
+                assertEquals((long) i, store.get(sessionId(i)).id());
+            }
+        }
+    }
+
+    @Test
+    void rejectsSaveWhenFull() throws IOException {
+        try (MappedFileSessionStore store = new MappedFileSessionStore(dir.resolve("s.store"), 4)) {
+            for (int i = 0; i < 3; i++) {
+                store.save(sessionId(i), new LoginPrincipal((long) i, "user"), TTL);
+            }
+            assertThrows(IllegalStateException.class,
+                    () -> store.save(sessionId(3), new LoginPrincipal(3L, "user"), TTL));
+            store.remove(sessionId(0));
+            store.save(sessionId(3), new LoginPrincipal(3L, "user"), TTL);
+            assertEquals(3L, store.get(sessionId(3)).id());
+        }
+    }
+
+    @Test
+    void reopenKeepsSessions() throws IOException {
+        Path file = dir.resolve("s.store");
+        try (MappedFileSessionStore store = new MappedFileSessionStore(file, 16)) {
+            store.save(sessionId(1), new LoginPrincipal(1L, "admin"), TTL);
+            store.save(sessionId(2), new LoginPrincipal(2L, "user"), TTL);
+            store.remove(sessionId(2));
+        }
+        try (MappedFileSessionStore store = new MappedFileSessionStore(file, 16)) {
+            assertEquals(new LoginPrincipal(1L, "admin"), store.get(sessionId(1)));
+            assertNull(store.get(sessionId(2)));
+        }
+    }
+
+    @Test
+    void reopenDiscardsFileWithOldMagic() throws IOException {
+        Path file = dir.resolve("s.store");
+        try (MappedFileSessionStore store = new MappedFileSessionStore(file, 16)) {
+            store.save(sessionId(1), new LoginPrincipal(1L, "admin"), TTL);
+        }
+        // 改写为旧版本布局的文件标识
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt(0, 0x53455353);
+        Files.write(file, bytes);
+
+        try (MappedFileSessionStore store = new MappedFileSessionStore(file, 16)) {
+            assertNull(store.get(sessionId(1)));
+            store.save(sessionId(2), new LoginPrincipal(2L, "user"), TTL);
+            assertEquals(2L, store.get(sessionId(2)).id());
+        }
+        assertNotEquals(0x53455353, ByteBuffer.wrap(Files.readAllBytes(file)).getInt(0));
+    }
+
+    private static int nonEmptySlots(Path file, int capacity) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        int count = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (bytes[HEADER_SIZE + i * SLOT_SIZE] != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String sessionId(long n) {
+        return String.format("%032x", n & Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,163 @@
+package com.yt.aicode.config;
+
+import com.yt.aicode.annotation.AuthCheck;
+import com.yt.aicode.basic.common.LoginPrincipal;
+import com.yt.aicode.basic.service.UserService;
+import com.yt.aicode.enums.UserRoleEnum;
+import com.yt.aicode.exception.BusinessException;
+import com.yt.aicode.exception.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 权限拦截器：预先计算的角色位、角色包含关系、anyRole 合并与未知角色的启动失败
+ *
+ * @author wys17
+ */
+class AuthCheckInterceptorTest {
+
+    private static final LoginPrincipal ADMIN = new LoginPrincipal(1L, UserRoleEnum.ADMIN.getValue());
+
+    private static final LoginPrincipal USER = new LoginPrincipal(2L, UserRoleEnum.USER.getValue());
+
+    private UserService userService;
+
+    private AuthCheckInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        interceptor = new AuthCheckInterceptor(userService, handlerMappings());
+    }
+
+    @Test
+    void requiredMaskIsUnionOfRoleBits() throws NoSuchMethodException {
+        assertEquals(-1, AuthCheckInterceptor.requiredMask(Guarded.class.getMethod("open")));
+        assertEquals(0, AuthCheckInterceptor.requiredMask(Guarded.class.getMethod("loginOnly")));
+        assertEquals(UserRoleEnum.USER.getBit(), AuthCheckInterceptor.requiredMask(Guarded.class.getMethod("userOnly")));
+        assertEquals(UserRoleEnum.ADMIN.getBit(), AuthCheckInterceptor.requiredMask(Guarded.class.getMethod("adminOnly")));
+        assertEquals(UserRoleEnum.USER.getBit() | UserRoleEnum.ADMIN.getBit(),
+                AuthCheckInterceptor.requiredMask(Guarded.class.getMethod("adminOrUser")));
+    }
+
+    @Test
+    void adminPassesUserOnlyCheck() {
+        assertTrue((ADMIN.roleMask() & UserRoleEnum.USER.getBit()) != 0);
+        assertTrue(preHandle(ADMIN, "userOnly"));
+        assertTrue(preHandle(ADMIN, "adminOnly"));
+    }
+
+    @Test
+    void userFailsAdminCheck() {
+        assertTrue(preHandle(USER, "userOnly"));
+        BusinessException e = assertThrows(BusinessException.class, () -> preHandle(USER, "adminOnly"));
+        assertEquals(ErrorCode.NO_AUTH_ERROR.getCode(), e.getCode());
+    }
+
+    @Test
+    void anyRolePassesWhenOneRoleMatches() {
+        assertTrue(preHandle(USER, "adminOrUser"));
+        assertTrue(preHandle(ADMIN, "adminOrUser"));
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> preHandle(new LoginPrincipal(3L, "guest"), "adminOrUser"));
+        assertEquals(ErrorCode.NO_AUTH_ERROR.getCode(), e.getCode());
+    }
+
+    @Test
+    void loginOnlyDoesNotLoadCurrentUser() {
+        assertTrue(preHandle(USER, "loginOnly"));
+        verify(userService).getLoginPrincipal(any());
+        verify(userService, never()).getVerifiedLoginPrincipal(any());
+    }
+
+    @Test
+    void publicHandlerSkipsAuthentication() {
+        assertTrue(preHandle(USER, "open"));
+        verify(userService, never()).getLoginPrincipal(any());
+        verify(userService, never()).getVerifiedLoginPrincipal(any());
+    }
+
+    @Test
+    void notLoggedInIsRejected() throws NoSuchMethodException {
+        when(userService.getVerifiedLoginPrincipal(any())).thenThrow(BusinessException.of(ErrorCode.NOT_LOGIN_ERROR));
+        HandlerMethod handler = new HandlerMethod(new Guarded(), "adminOnly");
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+        assertEquals(ErrorCode.NOT_LOGIN_ERROR.getCode(), e.getCode());
+    }
+
+    @Test
+    void unknownRoleFailsAtStartup() throws NoSuchMethodException {
+        HandlerMethod handler = new HandlerMethod(new Misconfigured(), "typo");
+        RequestMappingHandlerMapping mapping = mock(RequestMappingHandlerMapping.class);
+        when(mapping.getHandlerMethods()).thenReturn(Map.of(RequestMappingInfo.paths("/typo").build(), handler));
+        AuthCheckInterceptor misconfigured = new AuthCheckInterceptor(userService, handlerMappings(mapping));
+        IllegalStateException e = assertThrows(IllegalStateException.class, misconfigured::afterSingletonsInstantiated);
+        assertTrue(e.getMessage().contains("'amdin'"));
+    }
+
+    private boolean preHandle(LoginPrincipal principal, String methodName) {
+        when(userService.getLoginPrincipal(any())).thenReturn(principal);
+        when(userService.getVerifiedLoginPrincipal(any())).thenReturn(principal);
+        try {
+            HandlerMethod handler = new HandlerMethod(new Guarded(), methodName);
+            return interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<RequestMappingHandlerMapping> handlerMappings(RequestMappingHandlerMapping... mappings) {
+        ObjectProvider<RequestMappingHandlerMapping> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenAnswer(invocation -> Stream.of(mappings));
+        return provider;
+    }
+
+    static class Guarded {
+
+        public void open() {
+        }
+
+        @AuthCheck
+        public void loginOnly() {
+        }
+
+        @AuthCheck(mustRole = "user")
+        public void userOnly() {
+        }
+
+        @AuthCheck(mustRole = "admin")
+        public void adminOnly() {
+        }
+
+        @AuthCheck(mustRole = "admin", anyRole = {"user"})
+        public void adminOrUser() {
+        }
+    }
+
+    static class Misconfigured {
+
+        @AuthCheck(mustRole = "amdin")
+        public void typo() {
+        }
+    }
+}